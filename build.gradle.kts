@@ -10,8 +10,10 @@ plugins {
     // Release SBOM bootstrap: generate with the latest already-published plugin, not the candidate implementation.
     id("org.cyclonedx.bom") version "3.3.0"
     id("groovy")
+    id("java-test-fixtures")
     id("com.diffplug.spotless") version "8.9.0"
     id("net.ltgt.errorprone") version "5.1.0"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 val organization = "CycloneDX"
@@ -28,6 +30,12 @@ repositories {
     mavenCentral()
 }
 
+// TestKit performance regression suite, run on demand with `./gradlew performanceTest`
+val perfTest: SourceSet by sourceSets.creating
+
+configurations[perfTest.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[perfTest.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
 dependencies {
     api("org.cyclonedx:cyclonedx-core-java:13.0.0") {
         exclude(group = "org.apache.logging.log4j", module = "log4j-slf4j-impl")
@@ -44,6 +52,10 @@ dependencies {
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     testImplementation("com.github.stefanbirkner:system-lambda:1.2.1")
 
+    testFixturesImplementation(gradleApi())
+    jmhImplementation(testFixtures(project))
+    jmhImplementation("org.openjdk.jol:jol-core:0.17")
+
     errorprone("com.uber.nullaway:nullaway:0.13.8")
     errorprone("com.google.errorprone:error_prone_core:2.50.0")
 }
@@ -124,6 +136,26 @@ tasks.named("test") {
     enabled = false // Prevents the default test task from running tests itself
 }
 
+tasks.register<Test>("performanceTest") {
+    description = "Runs the TestKit performance regression suite against the stored baseline"
+    group = "verification"
+    testClassesDirs = perfTest.output.classesDirs
+    classpath = perfTest.runtimeClasspath
+    useJUnitPlatform()
+    maxParallelForks = 1
+    testLogging {
+        events("passed", "skipped", "failed")
+    }
+    systemProperty("performanceBaseline", file("src/perfTest/resources/performance-baseline.properties").absolutePath)
+    systemProperty(
+        "performanceResults",
+        layout.buildDirectory.file("reports/performance/results.properties").get().asFile.absolutePath
+    )
+    systemProperty("updatePerformanceBaseline", providers.gradleProperty("updatePerformanceBaseline").isPresent)
+    // Measurements depend on the machine rather than on the inputs, so they are never up to date
+    outputs.upToDateWhen { false }
+}
+
 tasks.withType<JavaCompile>().configureEach {
     dependsOn("processResources")
     options.encoding = "UTF-8"
@@ -135,8 +167,8 @@ tasks.withType<JavaCompile>().configureEach {
         option("NullAway:AnnotatedPackages", "org.cyclonedx.gradle")
         disable("MissingSummary")
     }
-    // Include to disable NullAway on test code
-    if (name.lowercase().contains("test")) {
+    // Include to disable NullAway on test and benchmark code
+    if (name.lowercase().contains("test") || name.lowercase().contains("jmh")) {
         options.errorprone {
             disable("NullAway")
         }
@@ -154,6 +186,37 @@ tasks.withType<GroovyCompile>().configureEach {
     )
 }
 
+// Benchmarks live in src/jmh/java. Run a subset with e.g. `./gradlew jmh -PjmhIncludes=DependencyGraphBenchmark`.
+jmh {
+    jmhVersion.set("1.37")
+    includes.set(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(emptyList()))
+    // the cold page cache scenario of HashingBenchmark needs root access, so it only runs when asked for
+    providers.gradleProperty("jmhPageCache").orNull?.let {
+        benchmarkParameters.put("pageCache", objects.listProperty<String>().value(it.split(",")))
+    }
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+}
+
+// Fails the build when a component of a large SBOM graph retains more heap than its budget, in bytes. Measuring the
+// 500k graph needs a 6 GB heap, so CI measures the smaller graphs with
+// `./gradlew footprintBudget -PfootprintSizes=10000,100000 -PfootprintHeap=2g`, and the full run is on demand.
+tasks.register<JavaExec>("footprintBudget") {
+    description = "Measures the retained heap of synthetic SBOM graphs against the per-component budget"
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.cyclonedx.gradle.SbomGraphFootprint")
+    args(providers.gradleProperty("footprintSizes").getOrElse("10000,100000,500000").split(","))
+    maxHeapSize = providers.gradleProperty("footprintHeap").getOrElse("6g")
+    jvmArgs("-Djdk.attach.allowAttachSelf=true")
+    providers.gradleProperty("footprintBudget").orNull?.let { systemProperty("footprintBudget", it) }
+}
+
+// The fakes in src/testFixtures are shared by the tests and the benchmarks only, they are not published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+
 val generatePluginProperties = tasks.register<WriteProperties>("generatePluginProperties") {
     destinationFile.set(layout.buildDirectory.file("generated-resources/plugin-properties/plugin.properties"))
     comment = "Automatically populated by Gradle build."
@@ -198,6 +261,7 @@ publishing {
 }
 
 gradlePlugin {
+    testSourceSets(sourceSets["test"], perfTest)
     website.set("https://cyclonedx.org")
     vcsUrl.set("https://github.com/CycloneDX/cyclonedx-gradle-plugin.git")
     plugins {
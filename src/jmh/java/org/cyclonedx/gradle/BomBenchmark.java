@@ -0,0 +1,177 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.ParseException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.utils.CyclonedxUtils;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.parsers.JsonParser;
+import org.cyclonedx.parsers.XmlParser;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the steps of rendering a resolved graph into a BOM one by one: assembling the {@link Bom} with
+ * {@link SbomBuilder}, serializing it to JSON and XML, validating the serialized BOM against the schema, and the
+ * complete write of {@link CyclonedxUtils}, which serializes and validates. Next to the time and the allocation rate
+ * of the GC profiler, the peak heap usage of every iteration is reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BomBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    @Param({"1.4", "1.5", "1.6", "1.7"})
+    public String schemaVersion;
+
+    private Version version;
+    private SbomGraph graph;
+    private CyclonedxDirectTask task;
+    private LicenseCache licenseCache;
+    private Bom bom;
+    private File directory;
+    private File jsonBom;
+    private File xmlBom;
+
+    @Setup
+    public void setUp() throws Exception {
+        version = CyclonedxUtils.schemaVersion(schemaVersion);
+        graph = SyntheticGraphs.sbomGraph(size);
+        directory = Files.createTempDirectory("bom-benchmark").toFile();
+        final Project project =
+                ProjectBuilder.builder().withProjectDir(directory).withName("app").build();
+        project.setGroup("com.example");
+        project.setVersion("1.0.0");
+        project.getPluginManager().apply(CyclonedxPlugin.class);
+        task = (CyclonedxDirectTask) project.getTasks().getByName("cyclonedxDirectBom");
+        task.getSchemaVersion().set(version);
+
+        licenseCache = new LicenseCache();
+        bom = new SbomBuilder<>(task, licenseCache).buildBom(graph);
+        jsonBom = new File(directory, "bom.json");
+        xmlBom = new File(directory, "bom.xml");
+        CyclonedxUtils.writeJsonBom(version, bom, jsonBom);
+        CyclonedxUtils.writeXmlBom(version, bom, xmlBom);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (final File file : directory.listFiles()) {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Benchmark
+    public Bom buildBom(final PeakHeap peakHeap) {
+        return new SbomBuilder<>(task, licenseCache).buildBom(graph);
+    }
+
+    @Benchmark
+    public String serializeJson(final PeakHeap peakHeap) throws Exception {
+        return BomGeneratorFactory.createJson(version, bom).toJsonString();
+    }
+
+    @Benchmark
+    public String serializeXml(final PeakHeap peakHeap) throws Exception {
+        return BomGeneratorFactory.createXml(version, bom).toXmlString();
+    }
+
+    @Benchmark
+    public List<ParseException> validateJson(final PeakHeap peakHeap) throws IOException {
+        return new JsonParser().validate(jsonBom, version);
+    }
+
+    @Benchmark
+    public List<ParseException> validateXml(final PeakHeap peakHeap) throws IOException {
+        return new XmlParser().validate(xmlBom, version);
+    }
+
+    @Benchmark
+    public void writeJsonBom(final PeakHeap peakHeap) {
+        CyclonedxUtils.writeJsonBom(version, bom, jsonBom);
+    }
+
+    @Benchmark
+    public void writeXmlBom(final PeakHeap peakHeap) {
+        CyclonedxUtils.writeXmlBom(version, bom, xmlBom);
+    }
+
+    /**
+     * Reports the highest heap usage seen during an iteration, as the sum of the peaks of all heap pools. It includes
+     * the graph and the BOM the benchmark keeps, which are the same for all benchmarks of a size.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PeakHeap {
+
+        public long peakHeapMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            long peak = 0;
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMegabytes = peak / (1024 * 1024);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the traversal of resolution results into the graph of a configuration, the merging of the graphs of two
+ * configurations and the assembly of the graph of a project, without metadata resolution. Run with the GC profiler
+ * configured in the build to see the allocation rate next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    @Param({"WIDE", "DEEP", "DIAMOND", "CYCLIC"})
+    public SyntheticGraphs.Shape shape;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    private SyntheticGraphs.Graph graph;
+    private MavenProjectLookup mavenLookup;
+    private ConfigurationScopes scopes;
+    private SbomComponentId rootId;
+    private Map<SbomComponentId, SbomComponent> runtimeGraph;
+    private Map<SbomComponentId, SbomComponent> testRuntimeGraph;
+
+    @Setup
+    public void setUp() {
+        graph = SyntheticGraphs.generate(shape, size);
+        mavenLookup = new MavenProjectLookup(FakeResolution.project(), new SbomMetrics());
+        scopes = new ConfigurationScopes();
+        final SbomComponentIdPool componentIds = new SbomComponentIdPool();
+        final DependencyGraphTraverser traverser = traverser(scopes, componentIds);
+        runtimeGraph = traverser.traverseGraph(graph.getRoot(), "app", "runtimeClasspath");
+        testRuntimeGraph = traverser.traverseGraph(graph.getRoot(), "app", "testRuntimeClasspath");
+        rootId = DependencyUtils.toComponentId(graph.getRoot(), null, componentIds);
+    }
+
+    @Benchmark
+    public Map<SbomComponentId, SbomComponent> traverseGraph() {
+        return traverser(new ConfigurationScopes(), new SbomComponentIdPool())
+                .traverseGraph(graph.getRoot(), "app", "runtimeClasspath");
+    }
+
+    /**
+     * Merges the graphs of two configurations. Merging adds the edges and scopes of the second graph to the components
+     * of the first, which is idempotent, so every invocation after the first does the same work.
+     */
+    @Benchmark
+    public Map<SbomComponentId, SbomComponent> mergeGraphs() {
+        return DependencyUtils.mergeGraphs(runtimeGraph, testRuntimeGraph);
+    }
+
+    @Benchmark
+    public SbomGraph buildSbomGraph() {
+        final Map<SbomComponentId, SbomComponent> merged = Stream.of(runtimeGraph, testRuntimeGraph)
+                .reduce(new HashMap<>(), DependencyUtils::mergeGraphs);
+        return SbomGraphProvider.buildSbomGraph(merged, rootId, scopes, new SbomMetrics());
+    }
+
+    private DependencyGraphTraverser traverser(
+            final ConfigurationScopes configurationScopes, final SbomComponentIdPool componentIds) {
+        return new DependencyGraphTraverser(
+                graph.getArtifacts(),
+                mavenLookup,
+                configurationScopes,
+                componentIds,
+                false,
+                false,
+                MetadataResolutionPolicy.full(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                null,
+                MetadataDeadline.unlimited(),
+                new SbomMetrics());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.Version;
+import org.cyclonedx.gradle.utils.CyclonedxUtils;
+import org.cyclonedx.gradle.utils.HashUtils;
+import org.cyclonedx.model.Hash;
+import org.cyclonedx.util.BomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures hashing a single artifact with the algorithms {@link HashUtils#selectAlgorithms(Version)} picks, which are
+ * six digests for schema version 1.1 and eight from 1.2 onwards. The artifacts are generated files of random content.
+ *
+ * <p>With a warm page cache the file is read from memory after the first invocation, so the digests dominate. With a
+ * cold page cache the kernel caches are dropped before every invocation, which needs write access to
+ * {@code /proc/sys/vm/drop_caches}. Without it the cold scenario fails rather than silently measuring a warm cache,
+ * so only the warm scenario runs by default. The cold one is selected with {@code -PjmhPageCache=COLD}.
+ *
+ * <p>{@link Engine#BOM_UTILS} is the call the plugin makes. Further engines are compared against it; {@link
+ * Engine#SINGLE_PASS} reads the file once and feeds every digest from the same buffer, which is the lower bound for
+ * any engine computing the digests on one thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashingBenchmark {
+
+    private static final Path DROP_CACHES = Paths.get("/proc/sys/vm/drop_caches");
+
+    /**
+     * The engines calculating the hashes of an artifact.
+     */
+    public enum Engine {
+        BOM_UTILS,
+        SINGLE_PASS
+    }
+
+    /**
+     * The state of the page cache when an artifact is hashed.
+     */
+    public enum PageCache {
+        WARM,
+        COLD
+    }
+
+    @Param({"10240", "1048576", "52428800", "524288000"})
+    public long fileSize;
+
+    @Param({"1.1", "1.6"})
+    public String schemaVersion;
+
+    @Param({"BOM_UTILS", "SINGLE_PASS"})
+    public Engine engine;
+
+    @Param({"WARM"})
+    public PageCache pageCache;
+
+    private Version version;
+    private List<Hash.Algorithm> algorithms;
+    private File artifact;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (pageCache == PageCache.COLD && !Files.isWritable(DROP_CACHES)) {
+            throw new IllegalStateException("Dropping the page cache needs write access to " + DROP_CACHES);
+        }
+        version = CyclonedxUtils.schemaVersion(schemaVersion);
+        algorithms = HashUtils.selectAlgorithms(version);
+        artifact = File.createTempFile("hashing-benchmark", ".jar");
+        writeRandomContent(artifact, fileSize);
+    }
+
+    @Setup(Level.Invocation)
+    public void dropPageCache() throws IOException {
+        if (pageCache == PageCache.COLD) {
+            Files.write(DROP_CACHES, "1".getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(artifact.toPath());
+    }
+
+    @Benchmark
+    public List<Hash> calculateHashes() throws IOException {
+        switch (engine) {
+            case SINGLE_PASS:
+                return singlePass(artifact, version, algorithms);
+            case BOM_UTILS:
+            default:
+                return BomUtils.calculateHashes(artifact, version, algorithms);
+        }
+    }
+
+    /**
+     * Writes the content through to the disk, so that dropping the page cache does not lose it.
+     */
+    private static void writeRandomContent(final File file, final long size) throws IOException {
+        final Random random = new Random(size);
+        final byte[] buffer = new byte[1 << 16];
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            for (long written = 0; written < size; written += buffer.length) {
+                random.nextBytes(buffer);
+                output.write(buffer, 0, (int) Math.min(buffer.length, size - written));
+            }
+            output.getChannel().force(true);
+        }
+    }
+
+    private static List<Hash> singlePass(
+            final File file, final Version version, final List<Hash.Algorithm> algorithms) throws IOException {
+        final List<MessageDigest> digests = new ArrayList<>(algorithms.size());
+        try {
+            for (final Hash.Algorithm algorithm : algorithms) {
+                digests.add(MessageDigest.getInstance(algorithm.getSpec()));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final byte[] buffer = new byte[1 << 16];
+        try (InputStream input = new FileInputStream(file)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                for (final MessageDigest digest : digests) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        final List<Hash> hashes = new ArrayList<>(algorithms.size());
+        for (int i = 0; i < algorithms.size(); i++) {
+            hashes.add(new Hash(algorithms.get(i), toHex(digests.get(i).digest())));
+        }
+        return hashes;
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.openjdk.jol.info.GraphStats;
+
+/**
+ * Measures the heap retained by synthetic {@link SbomGraph}s with ids, edges, scopes, metadata, licenses and hashes
+ * for every component, and fails when a component retains more than its budget on average.
+ *
+ * <p>Run by the {@code footprintBudget} task. The arguments are the graph sizes to measure, the budget is read from
+ * the {@code footprintBudget} system property in bytes per component.
+ */
+public final class SbomGraphFootprint {
+
+    /** About a quarter above the 2,420 bytes a component retained at 10k, 100k and 500k components. */
+    static final long DEFAULT_BUDGET = 3072;
+
+    private SbomGraphFootprint() {}
+
+    public static void main(final String[] args) {
+        final long budget = Long.getLong("footprintBudget", DEFAULT_BUDGET);
+        final List<String> violations = new ArrayList<>();
+        for (final String arg : args) {
+            final int size = Integer.parseInt(arg);
+            final long bytesPerComponent = measure(size);
+            System.out.printf(
+                    Locale.ROOT,
+                    "%,d components: %,d bytes per component, budget %,d%n",
+                    size,
+                    bytesPerComponent,
+                    budget);
+            if (bytesPerComponent > budget) {
+                violations.add(size + " components retain " + bytesPerComponent + " bytes per component");
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("SBOM graph exceeds its budget of " + budget + " bytes per component: "
+                    + String.join(", ", violations));
+        }
+    }
+
+    /**
+     * Measures the heap retained by a graph of the given size, including the root component and the configuration
+     * scopes, divided by the number of components.
+     */
+    static long measure(final int size) {
+        final SbomGraph graph = SyntheticGraphs.sbomGraph(size);
+        return GraphStats.parseInstance(graph).totalSize() / size;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.maven.model.License;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetaData;
+import org.cyclonedx.gradle.utils.HashUtils;
+import org.cyclonedx.model.ExternalReference;
+import org.cyclonedx.model.Hash;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+
+/**
+ * Generates resolution results of the shapes found in real builds from {@link FakeResolution}, and resolved graphs as
+ * the graph task writes them.
+ */
+final class SyntheticGraphs {
+
+    /** The shape of a generated graph. */
+    enum Shape {
+        /** The root depends on every component directly. */
+        WIDE,
+        /** Every component depends on the next one. */
+        DEEP,
+        /** Layers of four components, each depending on every component of the next layer. */
+        DIAMOND,
+        /** A chain in which every tenth component depends back on one five steps earlier, like Batik modules do. */
+        CYCLIC
+    }
+
+    private static final int DIAMOND_WIDTH = 4;
+
+    private SyntheticGraphs() {}
+
+    /**
+     * Generates a graph of modules below a root component.
+     *
+     * @param shape the shape of the graph
+     * @param size the number of modules besides the root
+     * @return the graph
+     */
+    static Graph generate(final Shape shape, final int size) {
+        final FakeResolution.Component root = FakeResolution.component("com.example", "app", "1.0.0");
+        final List<FakeResolution.Component> modules = new ArrayList<>(size);
+        final Map<ComponentIdentifier, File> artifacts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final FakeResolution.Component module =
+                    FakeResolution.component("org.example.group" + (i % 50), "module-" + i, "1." + (i % 7));
+            modules.add(module);
+            artifacts.put(
+                    module.getId(),
+                    new File("/gradle/caches/modules-2/files-2.1/" + module.getId().getDisplayName().replace(':', '/')
+                            + "/0123456789abcdef0123456789abcdef01234567/module-" + i + ".jar"));
+        }
+
+        switch (shape) {
+            case WIDE:
+                for (final FakeResolution.Component module : modules) {
+                    root.dependsOn(module);
+                }
+                break;
+            case DEEP:
+            case CYCLIC:
+                root.dependsOn(modules.get(0));
+                for (int i = 1; i < size; i++) {
+                    modules.get(i - 1).dependsOn(modules.get(i));
+                    if (shape == Shape.CYCLIC && i % 10 == 0 && i >= 5) {
+                        modules.get(i).dependsOn(modules.get(i - 5));
+                    }
+                }
+                break;
+            case DIAMOND:
+                for (int i = 0; i < Math.min(DIAMOND_WIDTH, size); i++) {
+                    root.dependsOn(modules.get(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    final int nextLayer = (i / DIAMOND_WIDTH + 1) * DIAMOND_WIDTH;
+                    for (int j = nextLayer; j < Math.min(nextLayer + DIAMOND_WIDTH, size); j++) {
+                        modules.get(i).dependsOn(modules.get(j));
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+        return new Graph(root, artifacts);
+    }
+
+    /**
+     * Generates the resolved graph of a project as it is rendered into a BOM. Every module has metadata, a license and
+     * the hashes of all algorithms, depends on up to three other modules, and every tenth module is only used by a
+     * test configuration.
+     *
+     * @param size the number of modules besides the root
+     * @return the graph
+     */
+    static SbomGraph sbomGraph(final int size) {
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+        final int runtime = scopes.intern("app", "runtimeClasspath");
+        final int test = scopes.intern("app", "testRuntimeClasspath");
+        final List<SbomComponentId> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(new SbomComponentId("org.example.group" + (i % 50), "module-" + i, "1." + (i % 7), "jar", null));
+        }
+
+        final Map<SbomComponentId, SbomComponent> graph = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final SbomComponentId id = ids.get(i);
+            final Set<SbomComponentId> dependencies = new HashSet<>();
+            for (int j = i + 1; j < Math.min(i + 4, size); j++) {
+                dependencies.add(ids.get(j));
+            }
+            final BitSet inScope = new BitSet();
+            inScope.set(i % 10 == 0 ? test : runtime);
+            final org.cyclonedx.model.Component metadata = new org.cyclonedx.model.Component();
+            metadata.setDescription("Synthetic module " + i);
+            metadata.setPublisher("Example " + (i % 50));
+            final ExternalReference website = new ExternalReference();
+            website.setType(ExternalReference.Type.WEBSITE);
+            website.setUrl("https://example.org/" + id.getName());
+            metadata.addExternalReference(website);
+            final License license = new License();
+            license.setName("The Apache Software License, Version 2.0");
+            license.setUrl("https://www.apache.org/licenses/LICENSE-2.0.txt");
+            graph.put(
+                    id,
+                    new SbomComponent.Builder()
+                            .withId(id)
+                            .withDependencyComponents(dependencies)
+                            .withInScopeConfigurations(inScope)
+                            .withMetaData(SbomMetaData.fromComponent(metadata))
+                            .withLicenses(Collections.singletonList(license))
+                            .withHashes(hashes(id.getName()))
+                            .build());
+        }
+
+        final SbomComponentId rootId = new SbomComponentId("com.example", "app", "1.0.0", null, ":");
+        final BitSet rootScopes = new BitSet();
+        rootScopes.set(runtime);
+        rootScopes.set(test);
+        final SbomComponent root = new SbomComponent.Builder()
+                .withId(rootId)
+                .withDependencyComponents(new HashSet<>(ids.subList(0, Math.min(20, size))))
+                .withInScopeConfigurations(rootScopes)
+                .build();
+        graph.put(rootId, root);
+        return new SbomGraph(graph, root, scopes);
+    }
+
+    private static Map<String, String> hashes(final String content) {
+        final Map<String, String> hashes = new LinkedHashMap<>();
+        for (final Hash.Algorithm algorithm : HashUtils.selectAllAlgorithms()) {
+            try {
+                final byte[] digest = MessageDigest.getInstance(algorithm.getSpec())
+                        .digest(content.getBytes(StandardCharsets.UTF_8));
+                final StringBuilder hex = new StringBuilder(digest.length * 2);
+                for (final byte b : digest) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                hashes.put(algorithm.getSpec(), hex.toString());
+            } catch (NoSuchAlgorithmException e) {
+                // not available on this JVM, as the graph task would skip it
+            }
+        }
+        return hashes;
+    }
+
+    /** A generated resolution result with the artifact files of its modules. */
+    static final class Graph {
+
+        private final ResolvedComponentResult root;
+        private final Map<ComponentIdentifier, File> artifacts;
+
+        private Graph(final ResolvedComponentResult root, final Map<ComponentIdentifier, File> artifacts) {
+            this.root = root;
+            this.artifacts = artifacts;
+        }
+
+        ResolvedComponentResult getRoot() {
+            return root;
+        }
+
+        Map<ComponentIdentifier, File> getArtifacts() {
+            return artifacts;
+        }
+    }
+}
@@ -106,6 +106,17 @@ public abstract class BaseCyclonedxTask extends DefaultTask {
     @Optional
     public abstract RegularFileProperty getJsonOutput();
 
+    /**
+     * The file to write a JSON report of per-phase wall times and counters (e.g. graph size, cache hits, bytes hashed)
+     * of generating the BOM to. Meant for tracking the performance of SBOM generation over time.
+     * If not set, no report is written.
+     *
+     * @return the metrics output file property
+     */
+    @OutputFile
+    @Optional
+    public abstract RegularFileProperty getMetricsOutput();
+
     /**
      * Whether to include the BOM serial number in the BOM.
      * If not set, it defaults to true.
@@ -115,6 +126,18 @@ public abstract class BaseCyclonedxTask extends DefaultTask {
     @Input
     public abstract Property<Boolean> getIncludeBomSerialNumber();
 
+    /**
+     * Whether to produce a byte-stable BOM for identical inputs, so that tasks consuming the BOM stay up-to-date and
+     * their build cache keys stay stable across identical builds.
+     * When enabled, the serial number is a name-based UUID derived from the BOM content instead of a random one, the
+     * metadata timestamp and the build system URL of the current run are omitted.
+     * If not set, it defaults to false.
+     *
+     * @return true if the BOM should be reproducible, false otherwise
+     */
+    @Input
+    public abstract Property<Boolean> getReproducible();
+
     /**
      * The type of the project that will be used in the BOM.
      * It can be one of the types defined in {@link Component.Type}.
@@ -199,6 +222,7 @@ public abstract class BaseCyclonedxTask extends DefaultTask {
         getSchemaVersion().convention(Version.VERSION_16);
         getIncludeLicenseText().convention(false);
         getIncludeBomSerialNumber().convention(true);
+        getReproducible().convention(false);
         getProjectType().convention(Component.Type.LIBRARY);
         getIncludeBuildSystem().convention(true);
         getOrganizationalEntity().convention(getProject().getObjects().property(OrganizationalEntity.class));
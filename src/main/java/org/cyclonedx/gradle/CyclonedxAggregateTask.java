@@ -27,11 +27,13 @@ import org.cyclonedx.exception.ParseException;
 import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomComponentId;
 import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.cyclonedx.gradle.utils.CyclonedxUtils;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.BomReference;
 import org.cyclonedx.model.Component;
 import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Property;
 import org.cyclonedx.parsers.BomParserFactory;
 import org.gradle.api.GradleException;
 import org.gradle.api.file.ConfigurableFileCollection;
@@ -52,34 +54,57 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
     protected final Provider<String> getProjectPath =
             getProject().getProviders().provider(() -> getProject().getPath());
 
+    private final Provider<CyclonedxBuildService> buildService;
+
+    public CyclonedxAggregateTask() {
+        this.buildService = CyclonedxBuildService.register(getProject().getGradle());
+        usesService(buildService);
+    }
+
     @TaskAction
     public void aggregate() throws Exception {
         logParameters();
-        final Bom merged = mergeAll(getInputSboms().getFiles());
+        final SbomMetrics metrics = new SbomMetrics();
+        final Bom merged;
+        try (SbomMetrics.Timer ignored = metrics.time("mergeBoms")) {
+            merged = mergeAll(getInputSboms().getFiles(), metrics);
+        }
         LOGGER.info("{} Writing BOM", LOG_PREFIX);
         if (getJsonOutput().isPresent()) {
             CyclonedxUtils.writeJsonBom(
                     getSchemaVersion().get(),
                     merged,
-                    getJsonOutput().getAsFile().get());
+                    getJsonOutput().getAsFile().get(),
+                    metrics);
         }
         if (getXmlOutput().isPresent()) {
             CyclonedxUtils.writeXmlBom(
-                    getSchemaVersion().get(), merged, getXmlOutput().getAsFile().get());
+                    getSchemaVersion().get(), merged, getXmlOutput().getAsFile().get(), metrics);
+        }
+        if (getMetricsOutput().isPresent()) {
+            CyclonedxUtils.writeMetrics(
+                    metrics, getPath(), getMetricsOutput().getAsFile().get());
         }
     }
 
-    private Bom mergeAll(final Set<File> files) throws ParseException {
+    private Bom mergeAll(final Set<File> files, final SbomMetrics metrics) throws ParseException {
         LOGGER.info("{} Received files: {}", LOG_PREFIX, files);
-        final Bom aggregateBom = getRootProjectBom();
+        final SbomBuilder<CyclonedxAggregateTask> builder = new SbomBuilder<>(this, buildService.get().getLicenseCache());
+        final Bom aggregateBom = getRootProjectBom(builder);
         final Map<String, Component> componentsByBomRef = new TreeMap<>();
         final Map<String, Set<String>> dependenciesByBomRef = new TreeMap<>();
 
         checkForMissingInputSboms(files);
 
+        boolean fromLockfiles = false;
         for (final File subProjectBomFile : files) {
-            final Bom subProjectBom =
-                    BomParserFactory.createParser(subProjectBomFile).parse(subProjectBomFile);
+            final Bom subProjectBom;
+            final long size = subProjectBomFile.length();
+            try (SbomMetrics.Timer ignored = metrics.time("parseInputBom", subProjectBomFile, size)) {
+                subProjectBom = BomParserFactory.createParser(subProjectBomFile).parse(subProjectBomFile);
+            }
+            metrics.add("input.bytes", size);
+            fromLockfiles |= isGraphFromLockfiles(subProjectBom);
             // merge components of all BOMs
             if (!aggregateBom
                     .getMetadata()
@@ -127,6 +152,7 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
                 });
             }
         }
+        metrics.add("output.components", componentsByBomRef.size());
         aggregateBom.setComponents(new ArrayList<>(componentsByBomRef.values()));
         aggregateBom.setDependencies(dependenciesByBomRef.entrySet().stream()
                 .map(entry -> {
@@ -136,9 +162,26 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
                     return dependency;
                 })
                 .collect(Collectors.toList()));
+        if (fromLockfiles) {
+            // the aggregate is only as close to the resolved graph as the least close of its inputs
+            final Property property = new Property();
+            property.setName(SbomBuilder.GRAPH_SOURCE_PROPERTY);
+            property.setValue(SbomBuilder.LOCKFILE_GRAPH_SOURCE);
+            aggregateBom.getMetadata().addProperty(property);
+        }
+        // the serial number of a reproducible BOM depends on the merged content
+        builder.applySerialNumber(aggregateBom);
         return aggregateBom;
     }
 
+    private static boolean isGraphFromLockfiles(final Bom bom) {
+        final List<Property> properties = bom.getMetadata() != null ? bom.getMetadata().getProperties() : null;
+        return properties != null
+                && properties.stream()
+                        .anyMatch(property -> SbomBuilder.GRAPH_SOURCE_PROPERTY.equals(property.getName())
+                                && SbomBuilder.LOCKFILE_GRAPH_SOURCE.equals(property.getValue()));
+    }
+
     private void checkForMissingInputSboms(final Set<File> files) {
         final List<File> missing = new ArrayList<>();
         for (final File file : files) {
@@ -161,7 +204,7 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
         }
     }
 
-    private Bom getRootProjectBom() {
+    private Bom getRootProjectBom(final SbomBuilder<CyclonedxAggregateTask> builder) {
         final SbomComponent updatedRootComponent = new SbomComponent.Builder()
                 .withId(new SbomComponentId(
                         getComponentGroup().get(),
@@ -170,7 +213,7 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
                         null,
                         getProjectPath.get()))
                 .build();
-        return new SbomBuilder<>(this).buildBom(new SbomGraph(Collections.emptyMap(), updatedRootComponent));
+        return builder.buildBom(new SbomGraph(Collections.emptyMap(), updatedRootComponent));
     }
 
     private void logParameters() {
@@ -183,8 +226,10 @@ public abstract class CyclonedxAggregateTask extends BaseCyclonedxTask {
             LOGGER.info(
                     "includeBomSerialNumber    : {}",
                     getIncludeBomSerialNumber().get());
+            LOGGER.info("reproducible              : {}", getReproducible().get());
             LOGGER.info("jsonOutput                : {}", getJsonOutput().getOrNull());
             LOGGER.info("xmlOutput                 : {}", getXmlOutput().getOrNull());
+            LOGGER.info("metricsOutput             : {}", getMetricsOutput().getOrNull());
             LOGGER.info("componentGroup            : {}", getComponentGroup().get());
             LOGGER.info("componentName             : {}", getComponentName().get());
             LOGGER.info("componentVersion          : {}", getComponentVersion().get());
@@ -0,0 +1,91 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Holds state shared by the tasks of all projects for the duration of one build, such as the pool of component ids.
+ * It is discarded when the build finishes, so nothing is retained in the Gradle daemon between builds.
+ */
+public abstract class CyclonedxBuildService implements BuildService<BuildServiceParameters.None> {
+
+    private final SbomComponentIdPool componentIds = new SbomComponentIdPool();
+    private final ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> sharedGraphs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, String>> artifactHashes = new ConcurrentHashMap<>();
+    private final LicenseCache licenseCache = new LicenseCache();
+
+    /**
+     * Registers the service with the build, unless it is already registered.
+     *
+     * <p>The name includes the identity of the plugin class loader, as projects may apply the plugin from different
+     * class loaders, each of which needs its own instance of the service class.
+     *
+     * @param gradle the build to register the service with
+     * @return the provider of the service
+     */
+    static Provider<CyclonedxBuildService> register(final Gradle gradle) {
+        return gradle.getSharedServices()
+                .registerIfAbsent(
+                        "cyclonedx-" + Integer.toHexString(System.identityHashCode(CyclonedxBuildService.class)),
+                        CyclonedxBuildService.class,
+                        spec -> {});
+    }
+
+    public SbomComponentIdPool getComponentIds() {
+        return componentIds;
+    }
+
+    /**
+     * The traversed and enriched buildscript classpath graphs, keyed by the fingerprint of their resolution result.
+     * Most projects of a build resolve the same buildscript classpath, which only has to be traversed once.
+     *
+     * @return the shared graphs
+     */
+    ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> getSharedGraphs() {
+        return sharedGraphs;
+    }
+
+    /**
+     * The hashes of artifact files by path, size and modification time, so that an artifact used by many projects is
+     * only hashed once per build.
+     *
+     * @return the hashes of artifacts
+     */
+    ConcurrentMap<String, Map<String, String>> getArtifactHashes() {
+        return artifactHashes;
+    }
+
+    /**
+     * The licenses resolved by name or URL, so that a license declared by many components is resolved, and its text
+     * loaded, only once per build.
+     *
+     * @return the cache of resolved licenses
+     */
+    LicenseCache getLicenseCache() {
+        return licenseCache;
+    }
+}
@@ -20,27 +20,30 @@ package org.cyclonedx.gradle;
 
 import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
 
-import java.util.ArrayList;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.cyclonedx.gradle.utils.CyclonedxUtils;
+import org.cyclonedx.gradle.utils.SbomGraphUtils;
 import org.cyclonedx.model.Bom;
+import org.gradle.api.Project;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Input;
-import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
@@ -48,104 +51,91 @@ import org.gradle.api.tasks.TaskAction;
 
 /**
  * This task mainly acts a container for the user configurations (includeConfigs, projectType, schemaVersion, ...)
- * and orchestrating the calls between the core objects (SbomGraphProvider and SbomBuilder)
+ * and orchestrating the calls between the core objects (SbomGraphProvider and SbomBuilder). When registered by the
+ * plugin, the dependency graph is resolved by a {@link CyclonedxGraphTask} and this task only renders it.
  */
 @CacheableTask
-public abstract class CyclonedxDirectTask extends BaseCyclonedxTask {
+public abstract class CyclonedxDirectTask extends BaseCyclonedxTask implements CyclonedxGraphResolution {
 
     private static final Logger LOGGER = Logging.getLogger(CyclonedxDirectTask.class);
 
     /**
-     * The list of configuration names to include in the BOM.
-     * If not set, all configurations will be included.
-     * Regex patterns can be used to match multiple configurations.
+     * The resolved dependency files from all in-scope configurations.
+     * These files are not fingerprinted by content any more, see {@link #getResolvedDependenciesFingerprint()}.
      *
-     * @return the list of configuration names to include
+     * @return the resolved dependency files
      */
-    @Input
-    public abstract ListProperty<String> getIncludeConfigs();
+    @Internal("covered by resolvedDependenciesFingerprint")
+    public abstract ConfigurableFileCollection getResolvedDependencies();
 
     /**
-     * The list of configuration names to skip in the BOM.
-     * If not set, no configurations will be skipped.
-     * Regex patterns can be used to match multiple configurations.
+     * A fingerprint of the resolved dependency graph of all in-scope configurations.
+     * This is used for up-to-date checking and caching - when dependencies change
+     * (new dependency, version change, or dynamic version resolution), the task
+     * will be re-executed instead of being marked UP-TO-DATE. It is taken from the
+     * resolution results before the graph is traversed, so no metadata is resolved
+     * to compute it. Artifacts from Gradle's module cache are identified by the
+     * checksum Gradle already recorded for them, so they are not read either.
      *
-     * @return the list of configuration names to skip
-     */
-    @Input
-    public abstract ListProperty<String> getSkipConfigs();
-
-    /**
-     * Patterns that identify Test Configurations when labeling components with
-     * {@code cdx:maven:package:test}. A configuration name is a Test Configuration when it fully
-     * matches any pattern ({@link String#matches(String)}). A component is marked test only when
-     * every configuration that contributed it is a Test Configuration. An empty list means no
-     * configuration is treated as a Test Configuration.
+     * Not present when the graph is read from {@link #getGraphFile()}, which already covers it.
      *
-     * @return the list of regex patterns for Test Configuration names
+     * @return the fingerprint of the resolved dependency graph
      */
     @Input
-    public abstract ListProperty<String> getTestConfigs();
+    @org.gradle.api.tasks.Optional
+    public abstract Property<String> getResolvedDependenciesFingerprint();
 
     /**
-     * Whether to include metadata resolution in the BOM. For example, license information.
-     * If not set, it defaults to true.
+     * The dependency graph written by a {@link CyclonedxGraphTask}. This is internal and set by the plugin.
+     * If not set, the task resolves the dependency graph itself.
      *
-     * @return true if metadata resolution should be included, false otherwise
+     * @return the graph file
      */
-    @Input
-    public abstract Property<Boolean> getIncludeMetadataResolution();
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @org.gradle.api.tasks.Optional
+    public abstract RegularFileProperty getGraphFile();
 
     /**
-     * Whether to include the build environment dependencies (e.g. from buildscript) in the BOM.
-     * If not set, it defaults to false.
+     * The metrics written by the {@link CyclonedxGraphTask} producing {@link #getGraphFile()}. They are only
+     * included in {@link #getMetricsOutput()}. This is internal and set by the plugin.
      *
-     * @return true if build environment dependencies should be included, false otherwise
+     * @return the metrics file of the graph task
      */
-    @Input
-    public abstract Property<Boolean> getIncludeBuildEnvironment();
-
-    /**
-     * The resolved dependency files from all in-scope configurations.
-     * This is used for up-to-date checking and caching - when dependencies change
-     * (new dependency, version change, or dynamic version resolution), the task
-     * will be re-executed instead of being marked UP-TO-DATE.
-     *
-     * @return the resolved dependency files
-     */
-    @InputFiles
-    @PathSensitive(PathSensitivity.RELATIVE)
-    public abstract ConfigurableFileCollection getResolvedDependencies();
+    @Internal("only reported in metricsOutput")
+    public abstract RegularFileProperty getGraphMetricsFile();
 
     private final Provider<SbomGraph> componentsProvider;
+    private final Provider<CyclonedxBuildService> buildService;
 
     public CyclonedxDirectTask() {
-        getIncludeConfigs().convention(new ArrayList<>());
-        getSkipConfigs().convention(new ArrayList<>());
-        getTestConfigs().convention(new ArrayList<>(Collections.singletonList("^test.*")));
-        getIncludeMetadataResolution().convention(true);
-        getIncludeBuildEnvironment().convention(false);
+        SbomGraphProvider.applyConventions(this);
+        this.buildService = CyclonedxBuildService.register(getProject().getGradle());
+        usesService(buildService);
+        // only created when this task resolves the graph itself rather than reading it from the graph file
+        final Project project = getProject();
+        final Supplier<SbomGraphProvider> graphProvider =
+                Suppliers.memoize(() -> SbomGraphProvider.create(project, this, buildService));
         this.componentsProvider = getProject()
                 .getProviders()
-                .provider(new SbomGraphProvider(
-                        () -> getProject().getGroup().toString(),
-                        getProject().getName(),
-                        () -> getProject().getVersion().toString(),
-                        getProject().getPath(),
-                        getProject().getDisplayName(),
-                        getProject().getConfigurations(),
-                        getProject().getBuildscript().getConfigurations(),
-                        new MavenProjectLookup(getProject()),
-                        this));
+                .provider(() -> getGraphFile().isPresent() ? null : graphProvider.get().call());
 
         // Wire resolved dependencies for cache invalidation
-        // Derives input files from the same SbomGraph used for BOM generation,
-        // avoiding a second dependency resolution pass
-        getResolvedDependencies().from(componentsProvider.map(graph -> graph.getGraph().values().stream()
-                .map(SbomComponent::getArtifactFile)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toSet())));
+        // Derives the fingerprint from the resolution results of the configurations, before the graph is traversed
+        // and enriched, so that an up-to-date check does not pay for metadata resolution
+        getResolvedDependencies()
+                .from(getProject()
+                        .getProviders()
+                        .provider(() -> getGraphFile().isPresent()
+                                ? Collections.emptySet()
+                                : graphProvider.get().getArtifactFiles()));
+        getResolvedDependenciesFingerprint()
+                .set(getProject()
+                        .getProviders()
+                        .provider(() ->
+                                getGraphFile().isPresent() ? null : graphProvider.get().fingerprint()));
+        // a BOM with incomplete metadata is built again rather than reused
+        IncompleteMetadata.configure(this, this);
     }
 
     /**
@@ -157,21 +147,48 @@ public abstract class CyclonedxDirectTask extends BaseCyclonedxTask {
     public abstract Property<String> getAggregateConfigurationName();
 
     /**
-     * Executes the main logic of the plugin by loading the dependency graph (SbomGraphProvider.get())
-     * and providing the result to SbomBuilder
+     * Executes the main logic of the plugin by loading the dependency graph (from the graph file or
+     * SbomGraphProvider.get()) and providing the result to SbomBuilder
      */
     @TaskAction
     public void createBom() {
         logParameters();
-        final Bom bom = new SbomBuilder<>(this).buildBom(componentsProvider.get());
+        final SbomMetrics metrics = new SbomMetrics();
+        final SbomGraph graph;
+        try (SbomMetrics.Timer ignored = metrics.time("readGraph")) {
+            graph = getGraphFile().isPresent()
+                    ? SbomGraphUtils.readGraph(getGraphFile().getAsFile().get())
+                    : componentsProvider.get();
+        }
+        IncompleteMetadata.record(this, graph);
+        final Bom bom;
+        try (SbomMetrics.Timer ignored = metrics.time("buildBom")) {
+            bom = new SbomBuilder<>(this, buildService.get().getLicenseCache())
+                    .buildBom(SbomGraphProvider.withConfiguredRootComponent(
+                            graph,
+                            getComponentGroup().get(),
+                            getComponentName().get(),
+                            getComponentVersion().get()));
+        }
+        metrics.add("output.components", bom.getComponents().size());
+        metrics.add("output.dependencies", bom.getDependencies().size());
         LOGGER.info("{} Writing BOM", LOG_PREFIX);
         if (getJsonOutput().isPresent()) {
             CyclonedxUtils.writeJsonBom(
-                    getSchemaVersion().get(), bom, getJsonOutput().getAsFile().get());
+                    getSchemaVersion().get(), bom, getJsonOutput().getAsFile().get(), metrics);
         }
         if (getXmlOutput().isPresent()) {
             CyclonedxUtils.writeXmlBom(
-                    getSchemaVersion().get(), bom, getXmlOutput().getAsFile().get());
+                    getSchemaVersion().get(), bom, getXmlOutput().getAsFile().get(), metrics);
+        }
+        if (getMetricsOutput().isPresent()) {
+            metrics.merge(graph.getMetrics());
+            final File graphMetricsFile = getGraphMetricsFile().getAsFile().getOrNull();
+            if (graphMetricsFile != null && graphMetricsFile.isFile()) {
+                metrics.merge(SbomGraphUtils.readMetrics(graphMetricsFile));
+            }
+            CyclonedxUtils.writeMetrics(
+                    metrics, getPath(), getMetricsOutput().getAsFile().get());
         }
     }
 
@@ -193,17 +210,48 @@ public abstract class CyclonedxDirectTask extends BaseCyclonedxTask {
             LOGGER.info(
                     "includeBomSerialNumber    : {}",
                     getIncludeBomSerialNumber().get());
+            LOGGER.info("reproducible              : {}", getReproducible().get());
             LOGGER.info("includeConfigs            : {}", getIncludeConfigs().get());
             LOGGER.info("skipConfigs               : {}", getSkipConfigs().get());
+            LOGGER.info("includeComponents         : {}", getIncludeComponents().get());
+            LOGGER.info("skipComponents            : {}", getSkipComponents().get());
             LOGGER.info("testConfigs               : {}", getTestConfigs().get());
             LOGGER.info(
                     "includeMetadataResolution : {}",
                     getIncludeMetadataResolution().get());
+            LOGGER.info(
+                    "offlineMetadataResolution : {}",
+                    getOfflineMetadataResolution().get());
+            LOGGER.info(
+                    "dependenciesFromLockfiles : {}",
+                    getDependenciesFromLockfiles().get());
+            LOGGER.info(
+                    "metadataResolutionTimeout : {}",
+                    getMetadataResolutionTimeout().getOrNull());
+            LOGGER.info(
+                    "metadataResolutionComponentTimeout : {}",
+                    getMetadataResolutionComponentTimeout().getOrNull());
+            LOGGER.info(
+                    "metadataResolutionDepth   : {}",
+                    getMetadataResolutionDepth().getOrNull());
+            LOGGER.info(
+                    "transitiveMetadataResolution : {}",
+                    getTransitiveMetadataResolution().get());
+            LOGGER.info(
+                    "testMetadataResolution    : {}",
+                    getTestMetadataResolution().get());
             LOGGER.info(
                     "includeBuildEnvironment   : {}",
                     getIncludeBuildEnvironment().get());
+            LOGGER.info(
+                    "metadataResolutionThreads : {}",
+                    getMetadataResolutionThreads().get());
+            LOGGER.info(
+                    "metadataResolutionVirtualThreads : {}",
+                    getMetadataResolutionVirtualThreads().get());
             LOGGER.info("jsonOutput                : {}", getJsonOutput().getOrNull());
             LOGGER.info("xmlOutput                 : {}", getXmlOutput().getOrNull());
+            LOGGER.info("metricsOutput             : {}", getMetricsOutput().getOrNull());
             LOGGER.info("componentGroup            : {}", getComponentGroup().get());
             LOGGER.info("componentName             : {}", getComponentName().get());
             LOGGER.info("componentVersion          : {}", getComponentVersion().get());
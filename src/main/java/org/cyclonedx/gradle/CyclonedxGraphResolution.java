@@ -0,0 +1,208 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.time.Duration;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+
+/**
+ * The options of resolving the dependency graph of a project. They are configured on {@link CyclonedxDirectTask} and
+ * passed on to the {@link CyclonedxGraphTask} resolving the graph for it.
+ */
+public interface CyclonedxGraphResolution {
+
+    /**
+     * The list of configuration names to include in the BOM.
+     * If not set, all configurations will be included.
+     * Regex patterns can be used to match multiple configurations.
+     *
+     * @return the list of configuration names to include
+     */
+    @Input
+    ListProperty<String> getIncludeConfigs();
+
+    /**
+     * The list of configuration names to skip in the BOM.
+     * If not set, no configurations will be skipped.
+     * Regex patterns can be used to match multiple configurations.
+     *
+     * @return the list of configuration names to skip
+     */
+    @Input
+    ListProperty<String> getSkipConfigs();
+
+    /**
+     * The list of components to include in the BOM.
+     * If not set, all components will be included.
+     * Regex patterns are matched against the whole {@code group:name:version} of a component and, for projects,
+     * against the project path. A component which is not included is left out together with the dependencies only
+     * reached through it, before any metadata is resolved or artifact hashed.
+     *
+     * @return the list of components to include
+     */
+    @Input
+    ListProperty<String> getIncludeComponents();
+
+    /**
+     * The list of components to skip in the BOM.
+     * If not set, no components will be skipped.
+     * Regex patterns are matched like {@link #getIncludeComponents()}, and skipping takes precedence over including.
+     *
+     * @return the list of components to skip
+     */
+    @Input
+    ListProperty<String> getSkipComponents();
+
+    /**
+     * Patterns that identify Test Configurations when labeling components with
+     * {@code cdx:maven:package:test}. A configuration name is a Test Configuration when it fully
+     * matches any pattern ({@link String#matches(String)}). A component is marked test only when
+     * every configuration that contributed it is a Test Configuration. An empty list means no
+     * configuration is treated as a Test Configuration.
+     *
+     * @return the list of regex patterns for Test Configuration names
+     */
+    @Input
+    ListProperty<String> getTestConfigs();
+
+    /**
+     * Whether to include metadata resolution in the BOM. For example, license information.
+     * If not set, it defaults to true.
+     *
+     * @return true if metadata resolution should be included, false otherwise
+     */
+    @Input
+    Property<Boolean> getIncludeMetadataResolution();
+
+    /**
+     * Whether metadata resolution only reads the POMs embedded in artifacts and the POMs in Gradle's module cache,
+     * without ever asking a repository, so that the time to generate the BOM does not depend on the repositories.
+     * Components with no POM in either place get no metadata and are marked with the
+     * {@code cdx:gradle:metadata:enrichment} property. If not set, it defaults to false.
+     *
+     * @return true if metadata should only be read from local files, false otherwise
+     */
+    @Input
+    Property<Boolean> getOfflineMetadataResolution();
+
+    /**
+     * Whether the dependency graph is built from Gradle's dependency lockfiles of the project and its buildscript
+     * instead of resolving the configurations. The lockfiles pin the modules of every locked configuration, and the
+     * dependencies between them are read from their POMs in Gradle's module cache, so neither a configuration is
+     * resolved nor a repository asked. This is meant as a fast check, e.g. in pre-commit hooks or pull requests:
+     * configurations which are not locked and project dependencies are left out, and modules whose POM is not
+     * cached are attached to the project. Metadata is only read from the module cache, as with
+     * {@link #getOfflineMetadataResolution()}. If not set, it defaults to false.
+     *
+     * @return true if the dependency graph should be built from lockfiles, false otherwise
+     */
+    @Input
+    Property<Boolean> getDependenciesFromLockfiles();
+
+    /**
+     * The time metadata resolution may take for all components of the project together. Components left when it has
+     * run out get no metadata: they keep their identity, hashes and dependencies, are marked with the
+     * {@code cdx:gradle:metadata:enrichment} property and are reported in the task log. A POM lookup in flight is not
+     * interrupted, as it resolves dependencies on the task thread. If not set, metadata resolution is not limited.
+     *
+     * @return the time budget of metadata resolution
+     */
+    @Input
+    @Optional
+    Property<Duration> getMetadataResolutionTimeout();
+
+    /**
+     * The time metadata resolution may take for a single component. A component exceeding it while waiting for the
+     * POM embedded in its artifact gets no metadata, like one left when {@link #getMetadataResolutionTimeout()} has
+     * run out. A repository lookup exceeding it keeps its result, but ends the budget: the repository is taken to
+     * hang, and further components get no metadata. If not set, a single component is not limited.
+     *
+     * @return the deadline of metadata resolution per component
+     */
+    @Input
+    @Optional
+    Property<Duration> getMetadataResolutionComponentTimeout();
+
+    /**
+     * The depth in the dependency graph of a configuration up to which components get full metadata resolution,
+     * where 1 are the direct dependencies of the project. Deeper components get
+     * {@link #getTransitiveMetadataResolution()}. A component found by several configurations gets the most metadata
+     * any of them asks for. If not set, every component gets full metadata resolution.
+     *
+     * @return the depth of full metadata resolution
+     */
+    @Input
+    @Optional
+    Property<Integer> getMetadataResolutionDepth();
+
+    /**
+     * The metadata resolution of the components deeper than {@link #getMetadataResolutionDepth()}: {@code FULL},
+     * {@code EMBEDDED_POM} to only read the POM embedded in the artifact, or {@code NONE}. Components not getting
+     * full metadata resolution are marked with the {@code cdx:gradle:metadata:enrichment} property. If not set, it
+     * defaults to {@code EMBEDDED_POM}.
+     *
+     * @return the metadata resolution of transitive components
+     */
+    @Input
+    Property<MetadataResolutionTier> getTransitiveMetadataResolution();
+
+    /**
+     * The metadata resolution of the components of test configurations, as matched by {@link #getTestConfigs()}:
+     * {@code FULL}, {@code EMBEDDED_POM} or {@code NONE}. A component which is also found by another configuration
+     * gets the metadata resolution of that one. If not set, it defaults to {@code FULL}.
+     *
+     * @return the metadata resolution of test components
+     */
+    @Input
+    Property<MetadataResolutionTier> getTestMetadataResolution();
+
+    /**
+     * Whether to include the build environment dependencies (e.g. from buildscript) in the BOM.
+     * If not set, it defaults to false.
+     *
+     * @return true if build environment dependencies should be included, false otherwise
+     */
+    @Input
+    Property<Boolean> getIncludeBuildEnvironment();
+
+    /**
+     * The number of threads reading the POMs embedded in artifacts for metadata resolution. They start as soon as the
+     * traversal of the dependency graph finds a component, while the repository lookups stay on the task thread.
+     * With 1, the POMs are read on the task thread after the traversal. If not set, it defaults to 4.
+     *
+     * @return the number of threads of the metadata resolution
+     */
+    @Internal("does not affect the content of the graph")
+    Property<Integer> getMetadataResolutionThreads();
+
+    /**
+     * Whether every component reads its POMs on a virtual thread of its own, at most
+     * {@link #getMetadataResolutionThreads()} at once. Requires the build to run on Java 21 or later, and falls back
+     * to platform threads otherwise. If not set, it defaults to false.
+     *
+     * @return true if metadata resolution should use virtual threads, false otherwise
+     */
+    @Internal("does not affect the content of the graph")
+    Property<Boolean> getMetadataResolutionVirtualThreads();
+}
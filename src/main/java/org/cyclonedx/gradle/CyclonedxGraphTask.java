@@ -0,0 +1,181 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import org.cyclonedx.Version;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.cyclonedx.gradle.utils.HashUtils;
+import org.cyclonedx.gradle.utils.SbomGraphUtils;
+import org.cyclonedx.model.Hash;
+import org.cyclonedx.util.BomUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Resolves the dependency graph of a project, enriches it with metadata and artifact hashes and writes it to a graph
+ * file. This is the expensive part of generating a Direct SBOM. Rendering the graph to JSON and XML is left to
+ * {@link CyclonedxDirectTask}, so that changing only a rendering option does not re-run the resolution.
+ *
+ * <p>The task is configured by the plugin from the corresponding {@link CyclonedxDirectTask}, it is not meant to be
+ * configured directly.
+ */
+@CacheableTask
+public abstract class CyclonedxGraphTask extends DefaultTask implements CyclonedxGraphResolution {
+
+    private static final Logger LOGGER = Logging.getLogger(CyclonedxGraphTask.class);
+
+    /**
+     * @see CyclonedxDirectTask#getResolvedDependenciesFingerprint()
+     * @return the fingerprint of the resolved dependency graph
+     */
+    @Input
+    public abstract Property<String> getResolvedDependenciesFingerprint();
+
+    /**
+     * The file the resolved and enriched dependency graph is written to.
+     *
+     * @return the graph file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getGraphFile();
+
+    /**
+     * The file the metrics of resolving the dependency graph are written to. These are reported as part of the
+     * metrics of {@link CyclonedxDirectTask}, if requested.
+     *
+     * @return the metrics file
+     */
+    @OutputFile
+    public abstract RegularFileProperty getMetricsFile();
+
+    private final Provider<SbomGraph> componentsProvider;
+    private final Provider<CyclonedxBuildService> buildService;
+
+    public CyclonedxGraphTask() {
+        SbomGraphProvider.applyConventions(this);
+        this.buildService = CyclonedxBuildService.register(getProject().getGradle());
+        usesService(buildService);
+        final SbomGraphProvider graphProvider = SbomGraphProvider.create(getProject(), this, buildService);
+        this.componentsProvider = getProject().getProviders().provider(graphProvider);
+        // taken from the resolution results, so that an up-to-date check or a build cache hit does not pay for
+        // traversing the graph and resolving its metadata
+        getResolvedDependenciesFingerprint()
+                .set(getProject().getProviders().provider(graphProvider::fingerprint));
+        // a graph with incomplete metadata is resolved again rather than reused
+        IncompleteMetadata.configure(this, this);
+    }
+
+    @TaskAction
+    public void resolveGraph() {
+        final SbomGraph resolved = componentsProvider.get();
+        IncompleteMetadata.record(this, resolved);
+        final SbomMetrics metrics = resolved.getMetrics();
+        final SbomGraph graph = withArtifactHashes(resolved, buildService.get().getArtifactHashes(), metrics);
+        final File graphFile = getGraphFile().getAsFile().get();
+        LOGGER.info("{} Writing dependency graph to {}", LOG_PREFIX, graphFile);
+        try (SbomMetrics.Timer ignored = metrics.time("writeGraph", graphFile)) {
+            SbomGraphUtils.writeGraph(graph, graphFile);
+        }
+        SbomGraphUtils.writeMetrics(metrics, getMetricsFile().getAsFile().get());
+    }
+
+    /**
+     * Hashes the artifact of every component with all algorithms any schema version may ask for, rendering picks
+     * the ones of the configured schema version. Artifacts already hashed by another project of the build are taken
+     * from the given hashes, unless they have changed since.
+     */
+    private static SbomGraph withArtifactHashes(
+            final SbomGraph sbomGraph,
+            final ConcurrentMap<String, Map<String, String>> artifactHashes,
+            final SbomMetrics metrics) {
+        LOGGER.debug("{} Calculating hashes", LOG_PREFIX);
+        final List<Hash.Algorithm> algorithms = HashUtils.selectAllAlgorithms();
+        final Map<SbomComponentId, SbomComponent> graph = new HashMap<>();
+        SbomComponent rootComponent = sbomGraph.getRootComponent();
+        for (final SbomComponent component : sbomGraph.getGraph().values()) {
+            final SbomComponent hashed = component
+                    .getArtifactFile()
+                    .map(file -> new SbomComponent.Builder(component)
+                            .withHashes(getHashes(file, artifactHashes, algorithms, metrics))
+                            .build())
+                    .orElse(component);
+            graph.put(hashed.getId(), hashed);
+            if (component.equals(rootComponent)) {
+                rootComponent = hashed;
+            }
+        }
+        return new SbomGraph(graph, rootComponent, sbomGraph.getConfigurationScopes());
+    }
+
+    private static Map<String, String> getHashes(
+            final File file,
+            final ConcurrentMap<String, Map<String, String>> artifactHashes,
+            final List<Hash.Algorithm> algorithms,
+            final SbomMetrics metrics) {
+        final String key = file.getPath() + "|" + file.length() + "|" + file.lastModified();
+        final Map<String, String> cached = artifactHashes.get(key);
+        if (cached != null) {
+            metrics.increment("artifactHashes.hits");
+            return cached;
+        }
+        metrics.increment("artifactHashes.misses");
+        final Map<String, String> hashes = calculateHashes(file, algorithms, metrics);
+        if (!hashes.isEmpty()) {
+            artifactHashes.putIfAbsent(key, hashes);
+        }
+        return hashes;
+    }
+
+    private static Map<String, String> calculateHashes(
+            final File file, final List<Hash.Algorithm> algorithms, final SbomMetrics metrics) {
+        final long size = file.length();
+        metrics.add("hashing.bytes", size);
+        try (SbomMetrics.Timer ignored = metrics.time("hashArtifacts", file, size)) {
+            final Map<String, String> hashes = new LinkedHashMap<>();
+            for (final Hash hash : BomUtils.calculateHashes(file, Version.VERSION_17, algorithms)) {
+                hashes.put(hash.getAlgorithm(), hash.getValue());
+            }
+            return hashes;
+        } catch (IOException e) {
+            LOGGER.error("{} Error encountered calculating hashes", LOG_PREFIX, e);
+        }
+        return Collections.emptyMap();
+    }
+}
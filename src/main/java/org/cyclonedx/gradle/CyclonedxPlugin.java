@@ -143,6 +143,10 @@ public class CyclonedxPlugin implements Plugin<Project> {
                     project.getDisplayName());
             return;
         }
+        // The graph task resolves and enriches the dependency graph, the direct task only renders it
+        final String graphTaskName = cyclonedxDirectTaskName + "Graph";
+        final TaskProvider<CyclonedxGraphTask> graphTaskProvider =
+                project.getTasks().register(graphTaskName, CyclonedxGraphTask.class);
         final TaskProvider<CyclonedxDirectTask> taskProvider = project.getTasks()
                 .register(cyclonedxDirectTaskName, CyclonedxDirectTask.class, task -> {
                     final Provider<Directory> dir =
@@ -150,7 +154,23 @@ public class CyclonedxPlugin implements Plugin<Project> {
                     task.getXmlOutput().convention(dir.get().file("bom.xml"));
                     task.getJsonOutput().convention(dir.get().file("bom.json"));
                     task.getAggregateConfigurationName().convention(cyclonedxAggregateConfigurationName);
+                    task.getGraphFile().set(graphTaskProvider.flatMap(CyclonedxGraphTask::getGraphFile));
+                    task.getGraphMetricsFile().set(graphTaskProvider.flatMap(CyclonedxGraphTask::getMetricsFile));
                 });
+        graphTaskProvider.configure(task -> {
+            configureGraphResolution(task, taskProvider);
+            task.getGraphFile()
+                    .convention(project.getLayout()
+                            .getBuildDirectory()
+                            .file("cyclonedx-graph/" + graphTaskName + ".bin"));
+            task.getMetricsFile()
+                    .convention(project.getLayout()
+                            .getBuildDirectory()
+                            .file("cyclonedx-graph/" + graphTaskName + "-metrics.bin"));
+            // a disabled direct task must not resolve the dependencies of its project
+            final Provider<Boolean> directTaskEnabled = taskProvider.map(Task::getEnabled);
+            task.onlyIf("the direct BOM task is enabled", t -> directTaskEnabled.get());
+        });
 
         project.getConfigurations()
                 .getByName(cyclonedxDirectConfigurationName)
@@ -158,6 +178,32 @@ public class CyclonedxPlugin implements Plugin<Project> {
                 .artifacts(taskProvider.map(CyclonedxDirectTask::getOutputFiles), a -> a.builtBy(taskProvider));
     }
 
+    /**
+     * Passes the options of resolving the graph configured on a task on to another one.
+     */
+    private static void configureGraphResolution(
+            final CyclonedxGraphResolution task, final Provider<? extends CyclonedxGraphResolution> from) {
+        task.getIncludeConfigs().set(from.flatMap(CyclonedxGraphResolution::getIncludeConfigs));
+        task.getSkipConfigs().set(from.flatMap(CyclonedxGraphResolution::getSkipConfigs));
+        task.getIncludeComponents().set(from.flatMap(CyclonedxGraphResolution::getIncludeComponents));
+        task.getSkipComponents().set(from.flatMap(CyclonedxGraphResolution::getSkipComponents));
+        task.getTestConfigs().set(from.flatMap(CyclonedxGraphResolution::getTestConfigs));
+        task.getIncludeMetadataResolution().set(from.flatMap(CyclonedxGraphResolution::getIncludeMetadataResolution));
+        task.getOfflineMetadataResolution().set(from.flatMap(CyclonedxGraphResolution::getOfflineMetadataResolution));
+        task.getDependenciesFromLockfiles().set(from.flatMap(CyclonedxGraphResolution::getDependenciesFromLockfiles));
+        task.getMetadataResolutionTimeout().set(from.flatMap(CyclonedxGraphResolution::getMetadataResolutionTimeout));
+        task.getMetadataResolutionComponentTimeout()
+                .set(from.flatMap(CyclonedxGraphResolution::getMetadataResolutionComponentTimeout));
+        task.getMetadataResolutionDepth().set(from.flatMap(CyclonedxGraphResolution::getMetadataResolutionDepth));
+        task.getTransitiveMetadataResolution()
+                .set(from.flatMap(CyclonedxGraphResolution::getTransitiveMetadataResolution));
+        task.getTestMetadataResolution().set(from.flatMap(CyclonedxGraphResolution::getTestMetadataResolution));
+        task.getIncludeBuildEnvironment().set(from.flatMap(CyclonedxGraphResolution::getIncludeBuildEnvironment));
+        task.getMetadataResolutionThreads().set(from.flatMap(CyclonedxGraphResolution::getMetadataResolutionThreads));
+        task.getMetadataResolutionVirtualThreads()
+                .set(from.flatMap(CyclonedxGraphResolution::getMetadataResolutionVirtualThreads));
+    }
+
     private boolean hasEnabledDirectBomTask(final Project project) {
         final Task directBomTask = project.getTasks().findByName(cyclonedxDirectTaskName);
         if (directBomTask == null) {
@@ -23,6 +23,7 @@ import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
 import java.io.File;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -30,17 +31,29 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.apache.maven.model.License;
 import org.apache.maven.project.MavenProject;
-import org.cyclonedx.gradle.model.ConfigurationScope;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
 import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
 import org.cyclonedx.gradle.model.SbomMetaData;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.cyclonedx.gradle.utils.FingerprintUtils;
 import org.cyclonedx.model.Component;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
 import org.gradle.api.artifacts.result.DependencyResult;
 import org.gradle.api.artifacts.result.ResolvedComponentResult;
 import org.gradle.api.artifacts.result.ResolvedDependencyResult;
@@ -58,17 +71,48 @@ class DependencyGraphTraverser {
     private static final Logger LOGGER = Logging.getLogger(DependencyGraphTraverser.class);
     private final Map<ComponentIdentifier, File> resolvedArtifacts;
     private final MavenProjectLookup mavenLookup;
+    private final ConfigurationScopes scopes;
+    private final SbomComponentIdPool componentIds;
     private final boolean includeMetaData;
+    private final boolean localMetaDataOnly;
+    private final MetadataResolutionPolicy policy;
+    private final List<Pattern> includeComponents;
+    private final List<Pattern> skipComponents;
+    private final Map<ComponentIdentifier, Boolean> pruned = new HashMap<>();
+    private final @Nullable ExecutorService metadataExecutor;
+    private final MetadataDeadline deadline;
     private final MavenHelper mavenHelper;
+    private final SbomMetrics metrics;
+    // most components are found by several configurations of a project, but only need to be enriched once
+    private final Map<ComponentIdentifier, Enrichment> enrichments = new HashMap<>();
 
     DependencyGraphTraverser(
             final Map<ComponentIdentifier, File> resolvedArtifacts,
             final MavenProjectLookup mavenLookup,
-            final CyclonedxDirectTask task) {
+            final ConfigurationScopes scopes,
+            final SbomComponentIdPool componentIds,
+            final boolean includeMetaData,
+            final boolean localMetaDataOnly,
+            final MetadataResolutionPolicy policy,
+            final List<String> includeComponents,
+            final List<String> skipComponents,
+            @Nullable final ExecutorService metadataExecutor,
+            final MetadataDeadline deadline,
+            final SbomMetrics metrics) {
         this.resolvedArtifacts = resolvedArtifacts;
         this.mavenLookup = mavenLookup;
-        this.includeMetaData = task.getIncludeMetadataResolution().get();
-        this.mavenHelper = new MavenHelper(task.getIncludeLicenseText().get());
+        this.scopes = scopes;
+        this.componentIds = componentIds;
+        this.includeMetaData = includeMetaData;
+        this.localMetaDataOnly = localMetaDataOnly;
+        this.policy = policy;
+        this.includeComponents = compile(includeComponents);
+        this.skipComponents = compile(skipComponents);
+        this.metadataExecutor = metadataExecutor;
+        this.deadline = deadline;
+        // licenses are kept as found in the POM and only resolved when the BOM is rendered
+        this.mavenHelper = new MavenHelper(false);
+        this.metrics = metrics;
     }
 
     /**
@@ -85,10 +129,18 @@ class DependencyGraphTraverser {
             final ResolvedComponentResult rootNode, final String projectName, final String configName) {
 
         final Map<GraphNode, Set<GraphNode>> graph = new HashMap<>();
+        final Map<ComponentIdentifier, Future<@Nullable ArtifactPom>> artifactPoms = new HashMap<>();
+        // the breadth-first traversal finds every node first on one of its shortest paths from the root
+        final Map<ComponentIdentifier, Integer> depths = new HashMap<>();
         final Queue<GraphNode> queue = new ArrayDeque<>();
-        final GraphNode rootGraphNode = new GraphNode(rootNode);
-        rootGraphNode.inScopeConfiguration(projectName, configName);
-        queue.add(rootGraphNode);
+        queue.add(new GraphNode(rootNode));
+        depths.put(rootNode.getId(), 0);
+        // every node of the traversal is in the same single configuration
+        final int scope = scopes.intern(projectName, configName);
+        // counted here and added to the metrics once, as updating them is not free on this path
+        long nodes = 0;
+        long edges = 0;
+        long prunedEdges = 0;
 
         LOGGER.debug(
                 "{} CycloneDX: Traversal of graph for configuration {} of project {}",
@@ -99,7 +151,9 @@ class DependencyGraphTraverser {
             final GraphNode graphNode = queue.poll();
             if (!graph.containsKey(graphNode)) {
                 graph.put(graphNode, new HashSet<>());
+                nodes++;
                 LOGGER.debug("{} Traversing node with ID {}", LOG_PREFIX, graphNode.id);
+                submitArtifactPom(graphNode, tierOf(graphNode, configName, depths), artifactPoms);
                 for (final DependencyResult dep : graphNode.getResult().getDependencies()) {
                     if (dep.isConstraint()) {
                         continue; // Skip constraints as they do not represent a dependency in the graph
@@ -110,15 +164,20 @@ class DependencyGraphTraverser {
                         if (graphNode.id.equals(dependencyComponent.getId())) {
                             continue; // Skip self-references
                         }
+                        if (isPruned(dependencyComponent)) {
+                            prunedEdges++;
+                            continue; // Skip excluded components together with everything only reached through them
+                        }
                         LOGGER.debug(
                                 "{} Node with ID {} has dependency with ID {}",
                                 LOG_PREFIX,
                                 graphNode.id,
                                 dependencyComponent);
                         final GraphNode dependencyNode = new GraphNode(dependencyComponent);
-                        dependencyNode.inScopeConfiguration(projectName, configName);
                         graph.get(graphNode).add(dependencyNode);
                         queue.add(dependencyNode);
+                        depths.putIfAbsent(dependencyNode.id, depths.getOrDefault(graphNode.id, 0) + 1);
+                        edges++;
                     } else if (dep instanceof UnresolvedDependencyResult) {
                         final UnresolvedDependencyResult unresolved = (UnresolvedDependencyResult) dep;
                         LOGGER.info(
@@ -130,57 +189,288 @@ class DependencyGraphTraverser {
                 }
             }
         }
+        metrics.add("graph.nodes", nodes);
+        metrics.add("graph.edges", edges);
+        if (prunedEdges > 0) {
+            metrics.add("graph.prunedEdges", prunedEdges);
+        }
+
+        try {
+            return toSbomComponents(graph, artifactPoms, scope, configName, depths);
+        } finally {
+            artifactPoms.values().forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Traverses the dependency graph of a configuration whose graph is likely to be resolved identically by other
+     * configurations, such as the buildscript classpath of every project or the runtime and test runtime classpath of
+     * a project without test dependencies. The graph is only traversed and enriched for the first configuration
+     * resolving it, the others copy it into their own configuration scope.
+     *
+     * @param rootNode entry point into the graph which is typically represents a project
+     * @param projectName project to which the configuration belongs to
+     * @param configName name of the configuration
+     * @param sharedGraphs the graphs already traversed, by the fingerprint of their resolution result
+     *
+     * @return a graph represented as map which is fully serializable
+     */
+    Map<SbomComponentId, SbomComponent> traverseSharedGraph(
+            final ResolvedComponentResult rootNode,
+            final String projectName,
+            final String configName,
+            final ConcurrentMap<String, SharedGraph> sharedGraphs) {
+        final String key = sharedGraphKey(rootNode, configName);
+        SharedGraph shared = sharedGraphs.get(key);
+        if (shared == null) {
+            metrics.increment("sharedGraphs.misses");
+            final SbomComponentId rootId = DependencyUtils.toComponentId(rootNode, null, componentIds);
+            final SharedGraph traversed = new SharedGraph(rootId, traverseGraph(rootNode, projectName, configName));
+            if (hasTimedOut(traversed.graph)) {
+                // the budget belongs to this task, other tasks resolve the metadata within their own
+                return copySharedGraph(traversed, rootNode, scopes.intern(projectName, configName));
+            }
+            final SharedGraph existing = sharedGraphs.putIfAbsent(key, traversed);
+            shared = existing != null ? existing : traversed;
+        } else {
+            metrics.increment("sharedGraphs.hits");
+            LOGGER.debug(
+                    "{} Reusing graph of configuration {} of project {} traversed for another configuration",
+                    LOG_PREFIX,
+                    configName,
+                    projectName);
+        }
+        return copySharedGraph(shared, rootNode, scopes.intern(projectName, configName));
+    }
+
+    private static boolean hasTimedOut(final Map<SbomComponentId, SbomComponent> graph) {
+        return graph.values().stream()
+                .anyMatch(component -> component.getMetadataEnrichment().orElse(null) == MetadataEnrichment.TIMED_OUT);
+    }
+
+    /**
+     * Describes the resolution result of a configuration by the components, artifacts and edges reachable from its
+     * root, leaving out the identity of the root itself, which is the project resolving it.
+     */
+    private String sharedGraphKey(final ResolvedComponentResult rootNode, final String configName) {
+        final List<String> entries = new ArrayList<>();
+        entries.add("metadata:" + includeMetaData + ",local:" + localMetaDataOnly);
+        entries.add("policy:" + policy + ",test:" + policy.isTestConfiguration(configName));
+        entries.add("include:" + includeComponents + ",skip:" + skipComponents);
+        entries.addAll(FingerprintUtils.describe(rootNode, id -> {
+            final File artifactFile = resolvedArtifacts.get(id);
+            return artifactFile == null ? FingerprintUtils.NO_ARTIFACT : artifactFile.getPath();
+        }));
+        return FingerprintUtils.fingerprint(entries);
+    }
+
+    /**
+     * Copies the components of a shared graph into the configuration of this traversal, replacing its root by the
+     * project resolving it, both as a component and as the target of edges pointing back at it. The copies get their
+     * own collections, as merging graphs modifies them.
+     */
+    private Map<SbomComponentId, SbomComponent> copySharedGraph(
+            final SharedGraph shared, final ResolvedComponentResult rootNode, final int scope) {
+        final SbomComponentId rootId = DependencyUtils.toComponentId(rootNode, null, componentIds);
+        final Map<SbomComponentId, SbomComponent> graph = new HashMap<>(shared.graph.size());
+        for (final SbomComponent component : shared.graph.values()) {
+            final SbomComponentId id = component.getId().equals(shared.rootId) ? rootId : component.getId();
+            final Set<SbomComponentId> dependencies = new HashSet<>(component.getDependencyComponents());
+            if (dependencies.remove(shared.rootId)) {
+                dependencies.add(rootId);
+            }
+            graph.put(
+                    id,
+                    new SbomComponent.Builder(component)
+                            .withId(id)
+                            .withDependencyComponents(dependencies)
+                            .withInScopeConfigurations(inScope(scope))
+                            .build());
+        }
+        return graph;
+    }
+
+    /**
+     * Starts reading the POM embedded in the artifact of a node on the metadata executor, so that it overlaps with the
+     * rest of the traversal. Only the artifact itself and the parent POMs next to it are read there; the lookup in the
+     * repositories resolves dependencies and stays on the calling thread.
+     */
+    private void submitArtifactPom(
+            final GraphNode node,
+            final MetadataResolutionTier tier,
+            final Map<ComponentIdentifier, Future<@Nullable ArtifactPom>> artifactPoms) {
+        if (metadataExecutor == null
+                || !includeMetaData
+                || tier == MetadataResolutionTier.NONE
+                || !(node.id instanceof ModuleComponentIdentifier)
+                || isEnriched(node.id, tier)) {
+            return;
+        }
+        final File artifactFile = getArtifactFile(node);
+        final ResolvedComponentResult result = node.getResult();
+        artifactPoms.put(
+                node.id, metadataExecutor.submit(() -> extractMetaDataFromArtifactPom(artifactFile, result)));
+        metrics.increment("metadata.pipelined");
+    }
+
+    private MetadataResolutionTier tierOf(
+            final GraphNode node, final String configName, final Map<ComponentIdentifier, Integer> depths) {
+        return policy.tierOf(configName, depths.getOrDefault(node.id, 0));
+    }
 
-        return toSbomComponents(graph);
+    /**
+     * Whether a component has already been enriched by another configuration with at least the given tier.
+     */
+    private boolean isEnriched(final ComponentIdentifier id, final MetadataResolutionTier tier) {
+        final Enrichment enrichment = enrichments.get(id);
+        return enrichment != null && enrichment.tier.compareTo(tier) <= 0;
     }
 
-    private Map<SbomComponentId, SbomComponent> toSbomComponents(final Map<GraphNode, Set<GraphNode>> graph) {
+    private Map<SbomComponentId, SbomComponent> toSbomComponents(
+            final Map<GraphNode, Set<GraphNode>> graph,
+            final Map<ComponentIdentifier, Future<@Nullable ArtifactPom>> artifactPoms,
+            final int scope,
+            final String configName,
+            final Map<ComponentIdentifier, Integer> depths) {
         return graph.entrySet().stream()
-                .map(entry -> toSbomComponent(entry.getKey(), entry.getValue()))
+                .map(entry -> toSbomComponent(
+                        entry.getKey(),
+                        entry.getValue(),
+                        artifactPoms.get(entry.getKey().id),
+                        scope,
+                        tierOf(entry.getKey(), configName, depths)))
                 .collect(Collectors.toMap(SbomComponent::getId, v -> v));
     }
 
-    private SbomComponent toSbomComponent(final GraphNode node, final Set<GraphNode> dependencyNodes) {
+    private SbomComponent toSbomComponent(
+            final GraphNode node,
+            final Set<GraphNode> dependencyNodes,
+            @Nullable final Future<@Nullable ArtifactPom> artifactPom,
+            final int scope,
+            final MetadataResolutionTier tier) {
         final File artifactFile = getArtifactFile(node);
-        final SbomComponentId id = DependencyUtils.toComponentId(node.getResult(), artifactFile);
+        final SbomComponentId id = DependencyUtils.toComponentId(node.getResult(), artifactFile, componentIds);
 
         List<License> licenses = new ArrayList<>();
         SbomMetaData metaData = null;
+        MetadataEnrichment metadataEnrichment = null;
         if (includeMetaData && node.id instanceof ModuleComponentIdentifier) {
-            LOGGER.debug("{}: Including meta data for node {}", LOG_PREFIX, node.id);
-            final Component component = new Component();
-            extractMetaDataFromArtifactPom(artifactFile, component, node.getResult());
-            licenses = extractMetaDataFromRepository(component, node.getResult());
-            metaData = SbomMetaData.fromComponent(component);
+            Enrichment enrichment = enrichments.get(node.id);
+            if (enrichment == null || enrichment.tier.compareTo(tier) > 0) {
+                // a configuration asking for more metadata than the ones before enriches the component again
+                enrichment = enrich(node, artifactFile, artifactPom, tier);
+                enrichments.put(node.id, enrichment);
+            } else {
+                metrics.increment("metadata.reused");
+            }
+            licenses = enrichment.licenses;
+            metaData = enrichment.metaData;
+            metadataEnrichment = enrichment.metadataEnrichment;
         }
 
         return new SbomComponent.Builder()
                 .withId(id)
                 .withDependencyComponents(getSbomDependencies(dependencyNodes))
-                .withInScopeConfigurations(node.getInScopeConfigurations())
+                .withInScopeConfigurations(inScope(scope))
                 .withArtifactFile(artifactFile)
                 .withMetaData(metaData)
                 .withLicenses(licenses)
+                .withMetadataEnrichment(metadataEnrichment)
                 .build();
     }
 
-    private void extractMetaDataFromArtifactPom(
-            @Nullable final File artifactFile, final Component component, final ResolvedComponentResult result) {
+    private Enrichment enrich(
+            final GraphNode node,
+            @Nullable final File artifactFile,
+            @Nullable final Future<@Nullable ArtifactPom> artifactPom,
+            final MetadataResolutionTier tier) {
+        if (tier == MetadataResolutionTier.NONE) {
+            metrics.increment("metadata.skipped");
+            return new Enrichment(
+                    SbomMetaData.fromComponent(new Component()), new ArrayList<>(), MetadataEnrichment.SKIPPED, tier);
+        }
+        LOGGER.debug("{}: Including meta data for node {}", LOG_PREFIX, node.id);
+        final long start = deadline.startComponent();
+        if (deadline.isExpired()) {
+            return timedOut(node, tier);
+        }
+        final ArtifactPom embedded;
+        if (artifactPom != null) {
+            try {
+                embedded = MetadataExecutors.await(artifactPom, deadline.remainingNanos(start));
+            } catch (TimeoutException e) {
+                artifactPom.cancel(true);
+                return timedOut(node, tier);
+            }
+        } else {
+            embedded = extractMetaDataFromArtifactPom(artifactFile, node.getResult());
+        }
+        if (deadline.isExpired() || deadline.isOverdue(start)) {
+            return timedOut(node, tier);
+        }
+        final Component component = embedded != null ? embedded.component : new Component();
+        if (tier == MetadataResolutionTier.EMBEDDED_POM) {
+            metrics.increment("metadata.embeddedPom");
+            return new Enrichment(
+                    SbomMetaData.fromComponent(component),
+                    embedded != null ? embedded.licenses : new ArrayList<>(),
+                    MetadataEnrichment.EMBEDDED_POM,
+                    tier);
+        }
+        final MavenProject mavenProject = mavenLookup.getResolvedMavenProject(node.getResult());
+        if (deadline.isOverdue(start)) {
+            // the lookup resolves dependencies on the task thread and cannot be interrupted, so a repository this slow
+            // would hold up every further component as well
+            LOGGER.warn(
+                    "{} Looking up the POM of {} took longer than {} ms, resolving no metadata for further components",
+                    LOG_PREFIX,
+                    node.id,
+                    deadline.getComponentTimeoutMillis());
+            deadline.expire();
+        }
+        if (mavenProject == null && embedded == null && localMetaDataOnly) {
+            // the repositories are not asked, so the component is left without metadata rather than fetched
+            metrics.increment("metadata.notCached");
+            LOGGER.info("{} No POM of {} in the artifact or the module cache", LOG_PREFIX, node.id);
+            return new Enrichment(
+                    SbomMetaData.fromComponent(component), new ArrayList<>(), MetadataEnrichment.NOT_CACHED, tier);
+        }
+        final List<License> licenses = extractMetaDataFromRepository(component, mavenProject);
+        return new Enrichment(SbomMetaData.fromComponent(component), licenses, null, tier);
+    }
+
+    private Enrichment timedOut(final GraphNode node, final MetadataResolutionTier tier) {
+        metrics.increment("metadata.timedOut");
+        LOGGER.info("{} No metadata for {}, metadata resolution ran out of time", LOG_PREFIX, node.id);
+        return new Enrichment(
+                SbomMetaData.fromComponent(new Component()), new ArrayList<>(), MetadataEnrichment.TIMED_OUT, tier);
+    }
+
+    /**
+     * Reads the metadata and the licenses of the POM embedded in an artifact, or returns null if the artifact has no
+     * POM.
+     */
+    private @Nullable ArtifactPom extractMetaDataFromArtifactPom(
+            @Nullable final File artifactFile, final ResolvedComponentResult result) {
 
         if (artifactFile == null || result.getModuleVersion() == null) {
-            return;
+            return null;
         }
 
-        @Nullable final MavenProject mavenProject = mavenHelper.extractPom(artifactFile, result.getModuleVersion());
-        if (mavenProject != null) {
+        try (SbomMetrics.Timer ignored = metrics.time("artifactPom", result.getId())) {
+            @Nullable final MavenProject mavenProject = mavenHelper.extractPom(artifactFile, result.getModuleVersion());
+            if (mavenProject == null) {
+                return null;
+            }
             LOGGER.debug("{} Parse artifact pom file of component {}", LOG_PREFIX, result.getId());
+            final Component component = new Component();
             mavenHelper.getClosestMetadata(artifactFile, mavenProject, component, result.getModuleVersion());
+            return new ArtifactPom(component, mavenProject.getLicenses());
         }
     }
 
     private List<License> extractMetaDataFromRepository(
-            final Component component, final ResolvedComponentResult result) {
-        final MavenProject mavenProject = mavenLookup.getResolvedMavenProject(result);
+            final Component component, @Nullable final MavenProject mavenProject) {
         if (mavenProject != null) {
             mavenHelper.extractMetadata(mavenProject, component);
             return mavenProject.getLicenses();
@@ -189,40 +479,126 @@ class DependencyGraphTraverser {
         return new ArrayList<>();
     }
 
+    private boolean isPruned(final ResolvedComponentResult component) {
+        if (includeComponents.isEmpty() && skipComponents.isEmpty()) {
+            return false;
+        }
+        return pruned.computeIfAbsent(component.getId(), id -> {
+            final List<String> names = new ArrayList<>(2);
+            final ModuleVersionIdentifier moduleVersion = component.getModuleVersion();
+            if (moduleVersion != null) {
+                names.add(moduleVersion.getGroup() + ":" + moduleVersion.getName() + ":" + moduleVersion.getVersion());
+            }
+            if (id instanceof ProjectComponentIdentifier) {
+                names.add(((ProjectComponentIdentifier) id).getProjectPath());
+            }
+            final boolean skip = matchesAny(skipComponents, names);
+            final boolean include = includeComponents.isEmpty() || matchesAny(includeComponents, names);
+            if (skip || !include) {
+                LOGGER.debug(
+                        "{} Pruning component {} and its dependencies (include: {}, skip: {})",
+                        LOG_PREFIX,
+                        id,
+                        include,
+                        skip);
+            }
+            return skip || !include;
+        });
+    }
+
+    private static boolean matchesAny(final List<Pattern> patterns, final List<String> names) {
+        for (final Pattern pattern : patterns) {
+            for (final String name : names) {
+                if (pattern.matcher(name).matches()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(final List<String> patterns) {
+        return patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+    }
+
     private Set<SbomComponentId> getSbomDependencies(final Set<GraphNode> dependencyNodes) {
         return dependencyNodes.stream()
-                .map(dependency -> DependencyUtils.toComponentId(dependency.getResult(), getArtifactFile(dependency)))
+                .map(dependency -> DependencyUtils.toComponentId(
+                        dependency.getResult(), getArtifactFile(dependency), componentIds))
                 .collect(Collectors.toSet());
     }
 
+    private static BitSet inScope(final int scope) {
+        final BitSet inScopeConfigurations = new BitSet();
+        inScopeConfigurations.set(scope);
+        return inScopeConfigurations;
+    }
+
     private @Nullable File getArtifactFile(final GraphNode node) {
         return this.resolvedArtifacts.get(node.getResult().getId());
     }
 
+    /** The metadata and licenses read from the POM embedded in an artifact. */
+    private static final class ArtifactPom {
+
+        private final Component component;
+        private final List<License> licenses;
+
+        private ArtifactPom(final Component component, final List<License> licenses) {
+            this.component = component;
+            this.licenses = licenses;
+        }
+    }
+
+    /**
+     * The metadata found for a component, which is the same in every configuration it is found by unless one of them
+     * asks for a higher tier.
+     */
+    private static final class Enrichment {
+
+        private final SbomMetaData metaData;
+        private final List<License> licenses;
+        private final @Nullable MetadataEnrichment metadataEnrichment;
+        private final MetadataResolutionTier tier;
+
+        private Enrichment(
+                final SbomMetaData metaData,
+                final List<License> licenses,
+                @Nullable final MetadataEnrichment metadataEnrichment,
+                final MetadataResolutionTier tier) {
+            this.metaData = metaData;
+            this.licenses = licenses;
+            this.metadataEnrichment = metadataEnrichment;
+            this.tier = tier;
+        }
+    }
+
+    /** A traversed graph, kept for other configurations resolving the same graph. */
+    static final class SharedGraph {
+
+        private final SbomComponentId rootId;
+        private final Map<SbomComponentId, SbomComponent> graph;
+
+        private SharedGraph(final SbomComponentId rootId, final Map<SbomComponentId, SbomComponent> graph) {
+            this.rootId = rootId;
+            this.graph = graph;
+        }
+    }
+
     private static class GraphNode {
 
         private final ComponentIdentifier id;
         private final ResolvedComponentResult result;
-        private final Set<ConfigurationScope> inScopeConfigurations;
 
         private GraphNode(final ResolvedComponentResult result) {
             this.id = result.getId();
             this.result = result;
-            this.inScopeConfigurations = new HashSet<>();
         }
 
         private ResolvedComponentResult getResult() {
             return result;
         }
 
-        private void inScopeConfiguration(final String projectName, final String configName) {
-            inScopeConfigurations.add(new ConfigurationScope(projectName, configName));
-        }
-
-        private Set<ConfigurationScope> getInScopeConfigurations() {
-            return inScopeConfigurations;
-        }
-
         @Override
         public boolean equals(final Object o) {
             if (this == o) return true;
@@ -0,0 +1,192 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import com.github.packageurl.MalformedPackageURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.cyclonedx.model.Dependency;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Collects the edges of the dependency graph by component id and builds the dependencies section of a BOM from them.
+ *
+ * <p>Every distinct id is numbered when it is first added, looked up by identity as the ids of a graph are interned
+ * by {@link SbomComponentIdPool}, and the edges of each component are kept as an array of these numbers. The BOM
+ * references are only computed and sorted once per distinct component by {@link #build()}, which then renumbers the
+ * edges by sorted position, so ordering and de-duplicating the edges compares ints only. The {@link Dependency}
+ * objects are created one per component and one per referenced component, which is shared by all edges pointing to
+ * it.
+ */
+final class DependencySectionBuilder {
+
+    private static final Logger LOGGER = Logging.getLogger(DependencySectionBuilder.class);
+
+    private final Map<SbomComponentId, Integer> numbers = new IdentityHashMap<>();
+    private final SbomComponentIdPool canonicalIds = new SbomComponentIdPool();
+    private final List<SbomComponentId> ids = new ArrayList<>();
+    private final List<int[]> edges = new ArrayList<>();
+
+    /**
+     * Adds a component and the components it depends on.
+     *
+     * @param source the id of the component
+     * @param targets the ids of its dependencies, in any order
+     */
+    void add(final SbomComponentId source, final Collection<SbomComponentId> targets) {
+        final int sourceNumber = number(source);
+        final int[] targetNumbers = new int[targets.size()];
+        int size = 0;
+        for (final SbomComponentId target : targets) {
+            targetNumbers[size++] = number(target);
+        }
+        final int[] existing = edges.get(sourceNumber);
+        edges.set(sourceNumber, existing == null ? targetNumbers : concat(existing, targetNumbers));
+    }
+
+    /**
+     * Builds the dependencies section with one entry per component, sorted by reference, each with its distinct
+     * dependencies in the same order. The edges of a component added more than once are merged, and so are the
+     * edges of components with the same reference.
+     *
+     * @return the entries of the dependencies section
+     */
+    List<Dependency> build() {
+        final String[] refs = new String[ids.size()];
+        final Integer[] sorted = new Integer[ids.size()];
+        int size = 0;
+        for (int number = 0; number < ids.size(); number++) {
+            final SbomComponentId id = ids.get(number);
+            try {
+                refs[number] = DependencyUtils.generatePackageUrl(id);
+                sorted[size++] = number;
+            } catch (MalformedPackageURLException e) {
+                LOGGER.warn(
+                        "{} Error constructing packageUrl for component {}. Skipping...", LOG_PREFIX, id.getName(), e);
+            }
+        }
+        Arrays.sort(sorted, 0, size, (first, second) -> refs[first].compareTo(refs[second]));
+
+        // the sorted position of every number, -1 for components without a reference
+        final int[] positions = new int[ids.size()];
+        Arrays.fill(positions, -1);
+        final String[] sortedRefs = new String[size];
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            final String ref = refs[sorted[i]];
+            if (distinct == 0 || !ref.equals(sortedRefs[distinct - 1])) {
+                sortedRefs[distinct++] = ref;
+            }
+            positions[sorted[i]] = distinct - 1;
+        }
+
+        final int[][] sortedEdges = new int[distinct][];
+        for (int number = 0; number < ids.size(); number++) {
+            final int source = positions[number];
+            final int[] targetNumbers = edges.get(number);
+            if (source < 0 || targetNumbers == null) {
+                continue;
+            }
+            final int[] targets = new int[targetNumbers.length];
+            int targetCount = 0;
+            for (final int target : targetNumbers) {
+                if (positions[target] >= 0) {
+                    targets[targetCount++] = positions[target];
+                }
+            }
+            final int[] merged = sortedEdges[source] == null
+                    ? Arrays.copyOf(targets, targetCount)
+                    : concat(sortedEdges[source], Arrays.copyOf(targets, targetCount));
+            sortedEdges[source] = sortedDistinct(merged);
+        }
+
+        final Dependency[] references = new Dependency[distinct];
+        final List<Dependency> dependencies = new ArrayList<>(distinct);
+        for (int source = 0; source < distinct; source++) {
+            final int[] targets = sortedEdges[source];
+            if (targets == null) {
+                continue;
+            }
+            final Dependency dependency = new Dependency(sortedRefs[source]);
+            if (targets.length > 0) {
+                final List<Dependency> dependsOn = new ArrayList<>(targets.length);
+                for (final int target : targets) {
+                    if (references[target] == null) {
+                        references[target] = new Dependency(sortedRefs[target]);
+                    }
+                    dependsOn.add(references[target]);
+                }
+                dependency.setDependencies(dependsOn);
+            }
+            dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Numbers an id by identity. An id which is not the interned instance, e.g. the root component replaced by the
+     * configured coordinates, is numbered like the first equal one added.
+     */
+    private int number(final SbomComponentId id) {
+        final Integer number = numbers.get(id);
+        if (number != null) {
+            return number;
+        }
+        final SbomComponentId canonical = canonicalIds.intern(id);
+        final Integer canonicalNumber = numbers.get(canonical);
+        final int result;
+        if (canonicalNumber != null) {
+            result = canonicalNumber;
+        } else {
+            result = ids.size();
+            ids.add(canonical);
+            edges.add(null);
+            numbers.put(canonical, result);
+        }
+        numbers.put(id, result);
+        return result;
+    }
+
+    private static int[] sortedDistinct(final int[] ids) {
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+
+    private static int[] concat(final int[] first, final int[] second) {
+        final int[] ids = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, ids, first.length, second.length);
+        return ids;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Keeps the outputs of a task whose metadata resolution was incomplete, i.e. with components marked {@link
+ * MetadataEnrichment#TIMED_OUT} or {@link MetadataEnrichment#NOT_CACHED}, from being reused. Such outputs depend on
+ * the speed of the repositories or the content of the module cache, neither of which is an input of the task.
+ *
+ * <p>The task action records whether its outputs are incomplete in a marker file in the temporary directory of the
+ * task. Outputs with the marker are never up to date, so the next build resolves the metadata again. Gradle decides
+ * whether to store the outputs of a task in the build cache before the task runs, so outputs are also kept out of
+ * the cache whenever the configuration of the task may make them incomplete.
+ */
+final class IncompleteMetadata {
+
+    private static final Logger LOGGER = Logging.getLogger(IncompleteMetadata.class);
+
+    private static final String MARKER = "incomplete-metadata";
+
+    private IncompleteMetadata() {}
+
+    /**
+     * Configures the up-to-date check and the caching of the outputs of a task.
+     *
+     * @param task the task
+     * @param resolution the options of resolving the graph of the task
+     */
+    static void configure(final Task task, final CyclonedxGraphResolution resolution) {
+        task.getOutputs().upToDateWhen(t -> !marker(t).exists());
+        task.getOutputs()
+                .doNotCacheIf(
+                        "metadata resolution is bounded in time or only reads local files",
+                        t -> mayBeIncomplete(resolution));
+        task.getOutputs()
+                .doNotCacheIf("metadata resolution of the previous run was incomplete", t -> marker(t).exists());
+    }
+
+    /**
+     * Records whether the metadata of a graph is incomplete, to be called by the action of the task.
+     *
+     * @param task the task
+     * @param graph the graph the outputs of the task are built from
+     */
+    static void record(final Task task, final SbomGraph graph) {
+        final long incomplete = graph.getGraph().values().stream()
+                .map(component -> component.getMetadataEnrichment().orElse(null))
+                .filter(enrichment ->
+                        enrichment == MetadataEnrichment.TIMED_OUT || enrichment == MetadataEnrichment.NOT_CACHED)
+                .count();
+        final File marker = marker(task);
+        try {
+            if (incomplete > 0) {
+                LOGGER.info(
+                        "{} Metadata of {} components is incomplete, {} will run again in the next build",
+                        LOG_PREFIX,
+                        incomplete,
+                        task.getPath());
+                Files.write(marker.toPath(), new byte[0]);
+            } else {
+                Files.deleteIfExists(marker.toPath());
+            }
+        } catch (IOException e) {
+            throw new GradleException("Unable to record the completeness of metadata in " + marker, e);
+        }
+    }
+
+    /**
+     * Whether the options of resolving a graph may make its metadata resolution incomplete.
+     */
+    private static boolean mayBeIncomplete(final CyclonedxGraphResolution resolution) {
+        return resolution.getIncludeMetadataResolution().get()
+                && (resolution.getOfflineMetadataResolution().get()
+                        || resolution.getDependenciesFromLockfiles().get()
+                        || resolution.getMetadataResolutionTimeout().isPresent()
+                        || resolution.getMetadataResolutionComponentTimeout().isPresent());
+    }
+
+    private static File marker(final Task task) {
+        return new File(task.getTemporaryDir(), MARKER);
+    }
+}
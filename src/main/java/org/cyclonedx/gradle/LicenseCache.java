@@ -0,0 +1,62 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import org.cyclonedx.model.LicenseChoice;
+import org.cyclonedx.util.LicenseResolver;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thread-safe cache of license names and URLs resolved with {@link LicenseResolver}, so that a license declared by
+ * many components is matched against the SPDX license list, and its text loaded, only once per build.
+ *
+ * <p>Names and URLs are cached after trimming them and collapsing runs of whitespace, and separately with and without
+ * license text. Names that resolve to no license are cached too. The resolved licenses are shared by all components
+ * declaring them, so they must not be modified.
+ */
+final class LicenseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ConcurrentMap<String, Optional<LicenseChoice>> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * @param license the name or URL of a license
+     * @param includeLicenseText whether the text of the license is resolved too
+     * @return the resolved license, or null if the name or URL matches no license
+     */
+    @Nullable LicenseChoice resolve(final String license, final boolean includeLicenseText) {
+        final String normalized = WHITESPACE.matcher(license.trim()).replaceAll(" ");
+        return resolved.computeIfAbsent(
+                        (includeLicenseText ? "text:" : "id:") + normalized,
+                        key -> Optional.ofNullable(LicenseResolver.resolve(normalized, includeLicenseText)))
+                .orElse(null);
+    }
+
+    /**
+     * @return the number of distinct names and URLs resolved
+     */
+    int size() {
+        return resolved.size();
+    }
+}
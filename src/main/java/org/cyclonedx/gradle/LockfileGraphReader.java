@@ -0,0 +1,416 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.gradle.model.SbomMetaData;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.cyclonedx.model.Component;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Builds the dependency graph of a configuration from Gradle's dependency lockfile instead of resolving the
+ * configuration. The lockfile pins every module of the configuration; the edges between the modules are taken from
+ * their POMs in Gradle's module cache, and the edges of the project from the dependencies it declares. Locked modules
+ * not reached that way, e.g. because a POM is not cached, are attached to the project, so that the graph still holds
+ * every locked module.
+ *
+ * <p>Neither a configuration is resolved nor a repository asked, so the graph is only as complete as the module cache.
+ * Project dependencies are not part of lockfiles and are left out.
+ */
+class LockfileGraphReader {
+
+    private static final Logger LOGGER = Logging.getLogger(LockfileGraphReader.class);
+    private static final String EMPTY = "empty";
+
+    private final ModuleCacheProjectLookup moduleCacheLookup;
+    private final ConfigurationScopes scopes;
+    private final SbomComponentIdPool componentIds;
+    private final boolean includeMetaData;
+    private final List<Pattern> includeComponents;
+    private final List<Pattern> skipComponents;
+    private final MavenHelper mavenHelper;
+    private final SbomMetrics metrics;
+    // most modules are locked in several configurations of a project, but only need to be read once
+    private final Map<LockedModule, Module> modules = new HashMap<>();
+
+    LockfileGraphReader(
+            final ModuleCacheProjectLookup moduleCacheLookup,
+            final ConfigurationScopes scopes,
+            final SbomComponentIdPool componentIds,
+            final boolean includeMetaData,
+            final List<String> includeComponents,
+            final List<String> skipComponents,
+            final SbomMetrics metrics) {
+        this.moduleCacheLookup = moduleCacheLookup;
+        this.scopes = scopes;
+        this.componentIds = componentIds;
+        this.includeMetaData = includeMetaData;
+        this.includeComponents = compile(includeComponents);
+        this.skipComponents = compile(skipComponents);
+        // licenses are kept as found in the POM and only resolved when the BOM is rendered
+        this.mavenHelper = new MavenHelper(false);
+        this.metrics = metrics;
+    }
+
+    /**
+     * Reads a lockfile, which has a line {@code group:name:version=configuration,...} for every locked module and a
+     * line {@code empty=configuration,...} for the configurations locked without any module.
+     *
+     * @param lockfile the lockfile, which may not exist
+     * @return the locked modules by the name of the configuration, empty if the lockfile does not exist
+     */
+    static Map<String, List<LockedModule>> parse(@Nullable final File lockfile) {
+        final Map<String, List<LockedModule>> locks = new LinkedHashMap<>();
+        if (lockfile == null || !lockfile.isFile()) {
+            return locks;
+        }
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(lockfile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read lockfile " + lockfile, e);
+        }
+        for (final String line : lines) {
+            final String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            final int separator = trimmed.indexOf('=');
+            if (separator < 0) {
+                LOGGER.warn("{} Skipping malformed line '{}' of lockfile {}", LOG_PREFIX, trimmed, lockfile);
+                continue;
+            }
+            final String coordinates = trimmed.substring(0, separator);
+            final String[] parts = coordinates.split(":");
+            if (!coordinates.equals(EMPTY) && parts.length != 3) {
+                LOGGER.warn("{} Skipping malformed line '{}' of lockfile {}", LOG_PREFIX, trimmed, lockfile);
+                continue;
+            }
+            for (final String configuration : trimmed.substring(separator + 1).split(",")) {
+                if (configuration.isEmpty()) {
+                    continue;
+                }
+                final List<LockedModule> locked = locks.computeIfAbsent(configuration, name -> new ArrayList<>());
+                if (!coordinates.equals(EMPTY)) {
+                    locked.add(new LockedModule(parts[0], parts[1], parts[2]));
+                }
+            }
+        }
+        return locks;
+    }
+
+    /**
+     * Builds the graph of a locked configuration belonging to the specified project.
+     *
+     * @param rootId the id of the project
+     * @param declared the modules the configuration declares as dependencies, as {@code group:name}
+     * @param locked the modules the configuration is locked to
+     * @param projectName project to which the configuration belongs to
+     * @param configName name of the configuration
+     *
+     * @return a graph represented as map which is fully serializable
+     */
+    Map<SbomComponentId, SbomComponent> readGraph(
+            final SbomComponentId rootId,
+            final Collection<String> declared,
+            final List<LockedModule> locked,
+            final String projectName,
+            final String configName) {
+        final int scope = scopes.intern(projectName, configName);
+        final Map<String, LockedModule> byName = new LinkedHashMap<>();
+        for (final LockedModule lockedModule : locked) {
+            byName.put(lockedModule.getName(), lockedModule);
+        }
+
+        final Map<LockedModule, Set<LockedModule>> edges = new HashMap<>();
+        for (final LockedModule lockedModule : byName.values()) {
+            final Set<LockedModule> dependencies = new LinkedHashSet<>();
+            for (final String dependency : read(lockedModule).dependencies) {
+                final LockedModule target = byName.get(dependency);
+                if (target != null && !target.equals(lockedModule)) {
+                    dependencies.add(target);
+                }
+            }
+            edges.put(lockedModule, dependencies);
+            metrics.add("graph.edges", dependencies.size());
+        }
+
+        final Set<LockedModule> directDependencies = new LinkedHashSet<>();
+        for (final String dependency : declared) {
+            final LockedModule target = byName.get(dependency);
+            if (target != null) {
+                directDependencies.add(target);
+            }
+        }
+        // modules only reached through pruned modules are left out, the unreachable ones are attached to the project,
+        // starting with the ones no other module depends on, so that their dependencies stay below them
+        final Set<LockedModule> reachable = reach(directDependencies, edges, false);
+        final Set<LockedModule> kept = reach(directDependencies, edges, true);
+        final Set<LockedModule> dependedOn = new HashSet<>();
+        edges.values().forEach(dependedOn::addAll);
+        final List<LockedModule> unreachable = new ArrayList<>();
+        for (final LockedModule lockedModule : byName.values()) {
+            if (!reachable.contains(lockedModule)) {
+                unreachable.add(dependedOn.contains(lockedModule) ? unreachable.size() : 0, lockedModule);
+            }
+        }
+        for (final LockedModule lockedModule : unreachable) {
+            if (!reachable.contains(lockedModule) && !isPruned(lockedModule)) {
+                LOGGER.debug("{} Attaching {} to the project, no path to it is known", LOG_PREFIX, lockedModule);
+                directDependencies.add(lockedModule);
+                reachable.addAll(reach(singleton(lockedModule), edges, false));
+                kept.addAll(reach(singleton(lockedModule), edges, true));
+                metrics.increment("lockfile.unattached");
+            }
+        }
+
+        final Map<SbomComponentId, SbomComponent> graph = new HashMap<>();
+        for (final LockedModule lockedModule : kept) {
+            metrics.increment("graph.nodes");
+            final Module module = read(lockedModule);
+            graph.put(
+                    module.id,
+                    new SbomComponent.Builder()
+                            .withId(module.id)
+                            .withDependencyComponents(toIds(edges.get(lockedModule), kept))
+                            .withInScopeConfigurations(inScope(scope))
+                            .withArtifactFile(module.artifactFile)
+                            .withMetaData(module.metaData)
+                            .withLicenses(new ArrayList<>(module.licenses))
+                            .withMetadataEnrichment(module.metadataEnrichment)
+                            .build());
+        }
+        graph.put(
+                rootId,
+                new SbomComponent.Builder()
+                        .withId(rootId)
+                        .withDependencyComponents(toIds(directDependencies, kept))
+                        .withInScopeConfigurations(inScope(scope))
+                        .withLicenses(new ArrayList<>())
+                        .build());
+        return graph;
+    }
+
+    private Set<LockedModule> reach(
+            final Set<LockedModule> roots, final Map<LockedModule, Set<LockedModule>> edges, final boolean prune) {
+        final Set<LockedModule> reached = new LinkedHashSet<>();
+        final Queue<LockedModule> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            final LockedModule lockedModule = queue.poll();
+            if ((prune && isPruned(lockedModule)) || !reached.add(lockedModule)) {
+                continue;
+            }
+            queue.addAll(edges.get(lockedModule));
+        }
+        return reached;
+    }
+
+    private Module read(final LockedModule lockedModule) {
+        Module module = modules.get(lockedModule);
+        if (module == null) {
+            try (SbomMetrics.Timer ignored = metrics.time("lockfilePom", lockedModule)) {
+                module = readModule(lockedModule);
+            }
+            modules.put(lockedModule, module);
+        }
+        return module;
+    }
+
+    private Module readModule(final LockedModule lockedModule) {
+        final File artifactFile =
+                moduleCacheLookup.getCachedArtifact(lockedModule.group, lockedModule.module, lockedModule.version);
+        final SbomComponentId id = DependencyUtils.toComponentId(
+                lockedModule.group, lockedModule.module, lockedModule.version, artifactFile, componentIds);
+        final MavenProject mavenProject =
+                moduleCacheLookup.getCachedMavenProject(lockedModule.group, lockedModule.module, lockedModule.version);
+        if (mavenProject == null) {
+            metrics.increment("lockfile.notCached");
+            LOGGER.info("{} No POM of {} in the module cache, its dependencies are not known", LOG_PREFIX, lockedModule);
+            return new Module(
+                    id,
+                    artifactFile,
+                    new ArrayList<>(),
+                    includeMetaData ? SbomMetaData.fromComponent(new Component()) : null,
+                    new ArrayList<>(),
+                    includeMetaData ? MetadataEnrichment.NOT_CACHED : null);
+        }
+
+        final List<String> dependencies = new ArrayList<>();
+        for (final Dependency dependency : mavenProject.getDependencies()) {
+            if (!dependency.isOptional() && isRuntimeScope(dependency.getScope())) {
+                dependencies.add(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            }
+        }
+        if (!includeMetaData) {
+            return new Module(id, artifactFile, dependencies, null, new ArrayList<>(), null);
+        }
+        final Component component = new Component();
+        mavenHelper.extractMetadata(mavenProject, component);
+        return new Module(
+                id,
+                artifactFile,
+                dependencies,
+                SbomMetaData.fromComponent(component),
+                mavenProject.getLicenses(),
+                null);
+    }
+
+    private static boolean isRuntimeScope(@Nullable final String scope) {
+        return scope == null || scope.isEmpty() || scope.equals("compile") || scope.equals("runtime");
+    }
+
+    private boolean isPruned(final LockedModule lockedModule) {
+        final String name = lockedModule.toString();
+        final boolean skip = matchesAny(skipComponents, name);
+        final boolean include = includeComponents.isEmpty() || matchesAny(includeComponents, name);
+        return skip || !include;
+    }
+
+    private static boolean matchesAny(final List<Pattern> patterns, final String name) {
+        for (final Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(final List<String> patterns) {
+        return patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+    }
+
+    private Set<SbomComponentId> toIds(final Set<LockedModule> lockedModules, final Set<LockedModule> kept) {
+        final Set<SbomComponentId> ids = new HashSet<>();
+        for (final LockedModule lockedModule : lockedModules) {
+            if (kept.contains(lockedModule)) {
+                ids.add(read(lockedModule).id);
+            }
+        }
+        return ids;
+    }
+
+    private static Set<LockedModule> singleton(final LockedModule lockedModule) {
+        final Set<LockedModule> set = new HashSet<>();
+        set.add(lockedModule);
+        return set;
+    }
+
+    private static BitSet inScope(final int scope) {
+        final BitSet inScopeConfigurations = new BitSet();
+        inScopeConfigurations.set(scope);
+        return inScopeConfigurations;
+    }
+
+    /** The coordinates of a module pinned by a lockfile. */
+    static final class LockedModule {
+
+        private final String group;
+        private final String module;
+        private final String version;
+
+        LockedModule(final String group, final String module, final String version) {
+            this.group = group;
+            this.module = module;
+            this.version = version;
+        }
+
+        /**
+         * @return the module without its version, as {@code group:name}
+         */
+        String getName() {
+            return group + ":" + module;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final LockedModule that = (LockedModule) o;
+            return group.equals(that.group) && module.equals(that.module) && version.equals(that.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return (group.hashCode() * 31 + module.hashCode()) * 31 + version.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return group + ":" + module + ":" + version;
+        }
+    }
+
+    /** What is known about a locked module from the module cache, which is the same in every configuration. */
+    private static final class Module {
+
+        private final SbomComponentId id;
+        private final @Nullable File artifactFile;
+        private final List<String> dependencies;
+        private final @Nullable SbomMetaData metaData;
+        private final List<License> licenses;
+        private final @Nullable MetadataEnrichment metadataEnrichment;
+
+        private Module(
+                final SbomComponentId id,
+                @Nullable final File artifactFile,
+                final List<String> dependencies,
+                @Nullable final SbomMetaData metaData,
+                final List<License> licenses,
+                @Nullable final MetadataEnrichment metadataEnrichment) {
+            this.id = id;
+            this.artifactFile = artifactFile;
+            this.dependencies = dependencies;
+            this.metaData = metaData;
+            this.licenses = licenses;
+            this.metadataEnrichment = metadataEnrichment;
+        }
+    }
+}
@@ -47,7 +47,6 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.cyclonedx.model.Component;
 import org.cyclonedx.model.ExternalReference;
 import org.cyclonedx.model.LicenseChoice;
-import org.cyclonedx.util.LicenseResolver;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.ResolvedArtifact;
@@ -62,9 +61,19 @@ class MavenHelper {
 
     private static final Logger LOGGER = Logging.getLogger(MavenHelper.class);
     private final Boolean includeLicenseText;
+    private final LicenseCache licenseCache;
 
     public MavenHelper(final Boolean includeLicenseText) {
+        this(includeLicenseText, new LicenseCache());
+    }
+
+    /**
+     * @param includeLicenseText whether resolved licenses include their text
+     * @param licenseCache the cache of resolved licenses, usually the one of the build
+     */
+    MavenHelper(final Boolean includeLicenseText, final LicenseCache licenseCache) {
         this.includeLicenseText = includeLicenseText;
+        this.licenseCache = licenseCache;
     }
 
     /**
@@ -210,7 +219,7 @@ class MavenHelper {
             boolean resolved = false;
             if (artifactLicense.getName() != null) {
                 final LicenseChoice resolvedByName =
-                        LicenseResolver.resolve(artifactLicense.getName(), includeLicenseText);
+                        licenseCache.resolve(artifactLicense.getName(), includeLicenseText);
                 if (resolvedByName != null) {
                     if (resolvedByName.getLicenses() != null
                             && !resolvedByName.getLicenses().isEmpty()) {
@@ -224,7 +233,7 @@ class MavenHelper {
             }
             if (artifactLicense.getUrl() != null && !resolved) {
                 final LicenseChoice resolvedByUrl =
-                        LicenseResolver.resolve(artifactLicense.getUrl(), includeLicenseText);
+                        licenseCache.resolve(artifactLicense.getUrl(), includeLicenseText);
                 if (resolvedByUrl != null) {
                     if (resolvedByUrl.getLicenses() != null
                             && !resolvedByUrl.getLicenses().isEmpty()) {
@@ -315,12 +324,13 @@ class MavenHelper {
                     LOGGER.debug("{} Skipping pom extraction of non jar artifact: {}", LOG_PREFIX, artifact.getName());
                     return null;
                 }
-                final JarFile jarFile = new JarFile(artifact);
-                final JarEntry entry =
-                        jarFile.getJarEntry("META-INF/maven/" + mid.getGroup() + "/" + mid.getName() + "/pom.xml");
-                if (entry != null) {
-                    try (final InputStream input = jarFile.getInputStream(entry)) {
-                        return readPom(input);
+                try (final JarFile jarFile = new JarFile(artifact)) {
+                    final JarEntry entry = jarFile.getJarEntry(
+                            "META-INF/maven/" + mid.getGroup() + "/" + mid.getName() + "/pom.xml");
+                    if (entry != null) {
+                        try (final InputStream input = jarFile.getInputStream(entry)) {
+                            return readPom(input);
+                        }
                     }
                 }
             } catch (IOException e) {
@@ -387,7 +397,20 @@ class MavenHelper {
      */
     static @Nullable Model resolveEffectivePom(final @Nullable File pomFile, final Project gradleProject) {
         // force the parent POMs and BOMs to be resolved
-        final ModelResolver modelResolver = new GradleAssistedMavenModelResolverImpl(gradleProject);
+        return resolveEffectivePom(pomFile, new GradleAssistedMavenModelResolverImpl(gradleProject));
+    }
+
+    /**
+     * Resolves an effective pom, including properties inherited from parent
+     * hierarchy.
+     *
+     * @param pomFile
+     *            the dependency pomFile
+     * @param modelResolver
+     *            the resolver of the parent POMs and imported BOMs
+     * @return model for effective pom
+     */
+    static @Nullable Model resolveEffectivePom(final @Nullable File pomFile, final ModelResolver modelResolver) {
         final ModelBuildingRequest req = new DefaultModelBuildingRequest();
         req.setModelResolver(modelResolver);
         req.setPomFile(pomFile);
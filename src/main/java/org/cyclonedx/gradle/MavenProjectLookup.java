@@ -19,11 +19,13 @@
 package org.cyclonedx.gradle;
 
 import java.io.File;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.maven.model.Model;
 import org.apache.maven.project.MavenProject;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.result.ArtifactResolutionResult;
@@ -44,16 +46,22 @@ class MavenProjectLookup {
 
     private static final Logger LOGGER = Logging.getLogger(MavenProjectLookup.class);
     private final Project project;
-    private final Map<ComponentIdentifier, MavenProject> cache;
+    private final ConcurrentMap<ComponentIdentifier, CompletableFuture<Lookup>> cache;
+    private final SbomMetrics metrics;
 
-    MavenProjectLookup(final Project project) {
+    MavenProjectLookup(final Project project, final SbomMetrics metrics) {
         this.project = project;
-        this.cache = new HashMap<>();
+        this.cache = new ConcurrentHashMap<>();
+        this.metrics = metrics;
     }
 
     /**
      * Retrieve the MavenProject instance for the provided component
      *
+     * <p>Every component is only looked up once: concurrent callers for the same component wait for the lookup in
+     * flight, and components without a POM or whose POM could not be resolved are remembered as such, so the error is
+     * only logged the first time.
+     *
      * @param result the resolved component for which to find the maven project,
      *               or null if the pom.xml is not found
      *
@@ -65,27 +73,65 @@ class MavenProjectLookup {
             return null;
         }
 
-        if (cache.containsKey(result.getId())) {
-            return cache.get(result.getId());
+        final ComponentIdentifier id = result.getId();
+        final CompletableFuture<Lookup> lookup = new CompletableFuture<>();
+        final CompletableFuture<Lookup> existing = cache.putIfAbsent(id, lookup);
+        if (existing != null) {
+            metrics.increment("pomLookup.hits");
+            final Lookup cached = existing.join();
+            if (cached.failure != null) {
+                LOGGER.debug("CycloneDX: POM for {} could not be resolved before: {}", id, cached.failure.toString());
+            }
+            return cached.mavenProject;
         }
+        metrics.increment("pomLookup.misses");
 
         try {
-            final File pomFile = buildMavenProject(result.getId());
+            final Lookup resolved = lookUp(id);
+            if (resolved.failure != null) {
+                metrics.increment("pomLookup.failures");
+                LOGGER.error("Unable to resolve POM for {}", id, resolved.failure);
+            }
+            lookup.complete(resolved);
+            return resolved.mavenProject;
+        } catch (RuntimeException | Error e) {
+            // not remembered, so that the next caller tries again
+            cache.remove(id, lookup);
+            lookup.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Lookup lookUp(final ComponentIdentifier id) {
+        try (SbomMetrics.Timer ignored = metrics.time("pomLookup", id)) {
+            final File pomFile = buildMavenProject(id);
             final MavenProject mavenProject = MavenHelper.readPom(pomFile);
-            if (mavenProject != null) {
-                LOGGER.debug("CycloneDX: parse queried pom file for component {}", result.getId());
-                final Model model = MavenHelper.resolveEffectivePom(pomFile, project);
-                if (model != null) {
-                    mavenProject.setLicenses(model.getLicenses());
-                }
-
-                cache.put(result.getId(), mavenProject);
-                return mavenProject;
+            if (pomFile == null || mavenProject == null) {
+                return Lookup.NOT_FOUND;
+            }
+            LOGGER.debug("CycloneDX: parse queried pom file for component {}", id);
+            final Model model;
+            try (SbomMetrics.Timer ignoredEffectivePom = metrics.time("effectivePom", id)) {
+                model = resolveEffectivePom(pomFile);
+            }
+            if (model != null) {
+                mavenProject.setLicenses(model.getLicenses());
             }
+            return new Lookup(mavenProject, null);
         } catch (Exception err) {
-            LOGGER.error("Unable to resolve POM for {}", result.getId(), err);
+            return new Lookup(null, err);
         }
-        return null;
+    }
+
+    /**
+     * Resolves the effective model of a POM found by {@link #buildMavenProject(ComponentIdentifier)}, whose licenses
+     * replace the ones declared in the POM itself.
+     *
+     * @param pomFile the POM of the component
+     * @return the effective model, or null if there is none
+     */
+    @Nullable Model resolveEffectivePom(final File pomFile) {
+        return MavenHelper.resolveEffectivePom(pomFile, project);
     }
 
     @Nullable File buildMavenProject(final ComponentIdentifier id) {
@@ -117,4 +163,18 @@ class MavenProjectLookup {
 
         return null;
     }
+
+    /** The outcome of looking up the POM of a component, which is cached whether or not a POM was found. */
+    private static final class Lookup {
+
+        private static final Lookup NOT_FOUND = new Lookup(null, null);
+
+        private final @Nullable MavenProject mavenProject;
+        private final @Nullable Exception failure;
+
+        private Lookup(@Nullable final MavenProject mavenProject, @Nullable final Exception failure) {
+            this.mavenProject = mavenProject;
+            this.failure = failure;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.time.Duration;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The time budget of the metadata resolution of a task, and the deadline of every component within it. The budget
+ * starts with the first component whose metadata is resolved, so that resolving the dependencies and artifacts does
+ * not count against it. Once it has run out, it stays expired for the rest of the task.
+ *
+ * <p>Only used on the thread running the task.
+ */
+final class MetadataDeadline {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long budgetNanos;
+    private final long componentNanos;
+    private long start;
+    private boolean started;
+    private boolean expired;
+
+    /**
+     * @param budget the time all components together may take, or null if unlimited
+     * @param componentTimeout the time a single component may take, or null if unlimited
+     */
+    MetadataDeadline(@Nullable final Duration budget, @Nullable final Duration componentTimeout) {
+        this.budgetNanos = toNanos(budget);
+        this.componentNanos = toNanos(componentTimeout);
+    }
+
+    /**
+     * @return a deadline which never expires
+     */
+    static MetadataDeadline unlimited() {
+        return new MetadataDeadline(null, null);
+    }
+
+    /**
+     * Starts the resolution of a component, and the budget with the first one.
+     *
+     * @return the start of the component, to be passed to {@link #remainingNanos(long)} and {@link #isOverdue(long)}
+     */
+    long startComponent() {
+        final long now = System.nanoTime();
+        if (!started) {
+            start = now;
+            started = true;
+        }
+        return now;
+    }
+
+    /**
+     * @return true if the budget has run out, or if it was ended by {@link #expire()}
+     */
+    boolean isExpired() {
+        if (!expired && started && budgetNanos != UNLIMITED && System.nanoTime() - start >= budgetNanos) {
+            expired = true;
+        }
+        return expired;
+    }
+
+    /** Ends the budget early, so that no further component is resolved. */
+    void expire() {
+        expired = true;
+    }
+
+    /**
+     * @param componentStart the start of the component
+     * @return how long the component may still take within its own deadline and the budget, not less than zero, or
+     * {@link Long#MAX_VALUE} if both are unlimited
+     */
+    long remainingNanos(final long componentStart) {
+        if (expired) {
+            return 0;
+        }
+        final long now = System.nanoTime();
+        long remaining = UNLIMITED;
+        if (componentNanos != UNLIMITED) {
+            remaining = Math.min(remaining, componentNanos - (now - componentStart));
+        }
+        if (budgetNanos != UNLIMITED) {
+            remaining = Math.min(remaining, budgetNanos - (now - start));
+        }
+        return Math.max(remaining, 0);
+    }
+
+    /**
+     * @param componentStart the start of the component
+     * @return true if the component has taken longer than its deadline
+     */
+    boolean isOverdue(final long componentStart) {
+        return componentNanos != UNLIMITED && System.nanoTime() - componentStart > componentNanos;
+    }
+
+    /**
+     * @return the time a single component may take in milliseconds, for logging
+     */
+    long getComponentTimeoutMillis() {
+        return componentNanos == UNLIMITED ? -1 : componentNanos / 1_000_000;
+    }
+
+    private static long toNanos(@Nullable final Duration duration) {
+        if (duration == null) {
+            return UNLIMITED;
+        }
+        try {
+            return Math.max(duration.toNanos(), 0);
+        } catch (ArithmeticException e) {
+            return UNLIMITED;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Creates the executors reading the POMs of artifacts during metadata resolution.
+ *
+ * <p>Virtual threads are looked up reflectively, as the plugin is compiled for Java 8. If the JVM running the build
+ * does not provide them, a pool of platform threads is used instead.
+ */
+final class MetadataExecutors {
+
+    private static final Logger LOGGER = Logging.getLogger(MetadataExecutors.class);
+
+    private MetadataExecutors() {}
+
+    /**
+     * Creates an executor running at most the given number of tasks at once.
+     *
+     * @param concurrency the maximum number of tasks running at once
+     * @param virtualThreads whether every task should run on a virtual thread of its own
+     * @return the executor
+     */
+    static ExecutorService create(final int concurrency, final boolean virtualThreads) {
+        if (virtualThreads) {
+            final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                return new LimitedExecutorService(executor, concurrency);
+            }
+            LOGGER.info("{} Virtual threads are not available, using {} platform threads", LOG_PREFIX, concurrency);
+        }
+        final ClassLoader pluginClassLoader = MetadataExecutors.class.getClassLoader();
+        final AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(concurrency, runnable -> {
+            final Thread thread = new Thread(runnable, "cyclonedx-metadata-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(pluginClassLoader);
+            return thread;
+        });
+    }
+
+    /**
+     * Waits for a POM read on an executor and rethrows its failure on the calling thread.
+     *
+     * @param future the pending read
+     * @param timeoutNanos how long to wait at most, {@link Long#MAX_VALUE} to wait without limit
+     * @param <T> the type of the result
+     * @return the result of the read
+     * @throws TimeoutException if the read did not complete in time
+     */
+    static <T> @Nullable T await(final Future<@Nullable T> future, final long timeoutNanos) throws TimeoutException {
+        try {
+            return timeoutNanos == Long.MAX_VALUE ? future.get() : future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradleException("Interrupted while reading the POM of an artifact", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new GradleException("Unable to read the POM of an artifact", cause);
+        }
+    }
+
+    private static @Nullable ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs the tasks on a delegate creating a thread per task, but lets only a limited number of them proceed at once.
+     * The waiting happens on the threads of the tasks, so submitting never blocks.
+     */
+    private static final class LimitedExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+        private final Semaphore permits;
+
+        private LimitedExecutorService(final ExecutorService delegate, final int concurrency) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(Math.max(1, concurrency));
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (command instanceof Future) {
+                        ((Future<?>) command).cancel(false);
+                    }
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
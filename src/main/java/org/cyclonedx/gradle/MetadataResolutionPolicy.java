@@ -0,0 +1,96 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.util.Collections;
+import java.util.List;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Decides the {@link MetadataResolutionTier} of a component within a configuration, from its depth in the graph of
+ * the configuration and whether the configuration is a test configuration. The depth of the direct dependencies of
+ * the project is 1. Each rule can only lower the tier, a component matching both gets the lower one.
+ */
+final class MetadataResolutionPolicy {
+
+    private final @Nullable Integer fullDepth;
+    private final MetadataResolutionTier transitiveTier;
+    private final MetadataResolutionTier testTier;
+    private final List<String> testConfigs;
+
+    /**
+     * @param fullDepth the depth up to which components get full metadata resolution, or null if unlimited
+     * @param transitiveTier the tier of the components deeper than that
+     * @param testTier the tier of the components of test configurations
+     * @param testConfigs the patterns of the names of the test configurations
+     */
+    MetadataResolutionPolicy(
+            @Nullable final Integer fullDepth,
+            final MetadataResolutionTier transitiveTier,
+            final MetadataResolutionTier testTier,
+            final List<String> testConfigs) {
+        this.fullDepth = fullDepth;
+        this.transitiveTier = transitiveTier;
+        this.testTier = testTier;
+        this.testConfigs = testConfigs;
+    }
+
+    /**
+     * @return a policy resolving full metadata for every component
+     */
+    static MetadataResolutionPolicy full() {
+        return new MetadataResolutionPolicy(
+                null, MetadataResolutionTier.FULL, MetadataResolutionTier.FULL, Collections.emptyList());
+    }
+
+    /**
+     * @param configName the name of the configuration
+     * @param depth the depth of the component in the graph of the configuration
+     * @return the tier of the component
+     */
+    MetadataResolutionTier tierOf(final String configName, final int depth) {
+        MetadataResolutionTier tier = MetadataResolutionTier.FULL;
+        if (fullDepth != null && depth > fullDepth) {
+            tier = lower(tier, transitiveTier);
+        }
+        if (isTestConfiguration(configName)) {
+            tier = lower(tier, testTier);
+        }
+        return tier;
+    }
+
+    /**
+     * @param configName the name of the configuration
+     * @return true if the tiers of the configuration differ from the ones of other configurations by being a test
+     * configuration
+     */
+    boolean isTestConfiguration(final String configName) {
+        return testTier != MetadataResolutionTier.FULL && testConfigs.stream().anyMatch(configName::matches);
+    }
+
+    @Override
+    public String toString() {
+        return "depth:" + fullDepth + "," + transitiveTier + ",test:" + testTier + testConfigs;
+    }
+
+    private static MetadataResolutionTier lower(final MetadataResolutionTier a, final MetadataResolutionTier b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
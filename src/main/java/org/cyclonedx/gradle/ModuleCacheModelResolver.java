@@ -0,0 +1,153 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.io.File;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource2;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Resolves parent POMs and imported BOMs from Gradle's module cache only. Unlike
+ * {@link GradleAssistedMavenModelResolverImpl} it never resolves a dependency, so it never reaches out to a repository,
+ * and a POM that is not in the cache cannot be resolved.
+ */
+class ModuleCacheModelResolver implements ModelResolver {
+
+    private final File moduleCache;
+
+    /**
+     * @param moduleCache the {@code caches/modules-2/files-2.1} directory of the Gradle user home
+     */
+    ModuleCacheModelResolver(final File moduleCache) {
+        this.moduleCache = moduleCache;
+    }
+
+    /**
+     * Finds the POM of a module in Gradle's module cache, which keeps every file of a module version in a directory
+     * named after its checksum: {@code <group>/<module>/<version>/<sha1>/<module>-<version>.pom}.
+     *
+     * @param moduleCache the {@code caches/modules-2/files-2.1} directory of the Gradle user home
+     * @param groupId the group of the module
+     * @param artifactId the name of the module
+     * @param version the version of the module
+     * @return the POM, or null if it is not in the cache
+     */
+    static @Nullable File findPom(
+            final File moduleCache, final String groupId, final String artifactId, final String version) {
+        final File[] checksumDirs = listChecksumDirs(moduleCache, groupId, artifactId, version);
+        if (checksumDirs == null) {
+            return null;
+        }
+        final String fileName = artifactId + "-" + version + ".pom";
+        for (final File checksumDir : checksumDirs) {
+            final File pom = new File(checksumDir, fileName);
+            if (pom.isFile()) {
+                return pom;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the main artifact of a module in Gradle's module cache, which is the file named after the module and its
+     * version without a classifier. A jar is preferred over other types.
+     *
+     * @param moduleCache the {@code caches/modules-2/files-2.1} directory of the Gradle user home
+     * @param groupId the group of the module
+     * @param artifactId the name of the module
+     * @param version the version of the module
+     * @return the artifact, or null if it is not in the cache
+     */
+    static @Nullable File findArtifact(
+            final File moduleCache, final String groupId, final String artifactId, final String version) {
+        final File[] checksumDirs = listChecksumDirs(moduleCache, groupId, artifactId, version);
+        if (checksumDirs == null) {
+            return null;
+        }
+        final String baseName = artifactId + "-" + version + ".";
+        File artifact = null;
+        for (final File checksumDir : checksumDirs) {
+            final File[] files = checksumDir.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (final File file : files) {
+                final String name = file.getName();
+                if (!name.startsWith(baseName) || name.endsWith(".pom") || name.endsWith(".module")) {
+                    continue;
+                }
+                final String extension = name.substring(baseName.length());
+                if (extension.equals("jar")) {
+                    return file;
+                }
+                if (artifact == null && extension.indexOf('.') < 0) {
+                    artifact = file;
+                }
+            }
+        }
+        return artifact;
+    }
+
+    private static File @Nullable [] listChecksumDirs(
+            final File moduleCache, final String groupId, final String artifactId, final String version) {
+        return new File(moduleCache, groupId + "/" + artifactId + "/" + version).listFiles();
+    }
+
+    @Override
+    public ModelSource2 resolveModel(final String groupId, final String artifactId, final String version)
+            throws UnresolvableModelException {
+        final File pom = findPom(moduleCache, groupId, artifactId, version);
+        if (pom == null) {
+            throw new UnresolvableModelException(
+                    "POM is not in the Gradle module cache", groupId, artifactId, version);
+        }
+        return new FileModelSource(pom);
+    }
+
+    @Override
+    public ModelSource2 resolveModel(final Parent parent) throws UnresolvableModelException {
+        return resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+    }
+
+    @Override
+    public ModelSource2 resolveModel(final Dependency dependency) throws UnresolvableModelException {
+        return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+    }
+
+    @Override
+    public void addRepository(final Repository repository) {
+        // ignore
+    }
+
+    @Override
+    public void addRepository(final Repository repository, final boolean replace) {
+        // ignore
+    }
+
+    @Override
+    public ModelResolver newCopy() {
+        return this;
+    }
+}
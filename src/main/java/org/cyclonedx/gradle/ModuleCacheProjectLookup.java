@@ -0,0 +1,123 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
+
+import java.io.File;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Finds the pom.xml of a maven project in Gradle's module cache only, so that looking it up never waits for a
+ * repository. Parent POMs are only taken from the module cache as well: if one is missing, the licenses declared in
+ * the POM itself are used instead of the ones of the effective model.
+ */
+class ModuleCacheProjectLookup extends MavenProjectLookup {
+
+    private static final Logger LOGGER = Logging.getLogger(ModuleCacheProjectLookup.class);
+    private final File moduleCache;
+    private final ModuleCacheModelResolver modelResolver;
+
+    ModuleCacheProjectLookup(final Project project, final SbomMetrics metrics) {
+        this(project, new File(project.getGradle().getGradleUserHomeDir(), "caches/modules-2/files-2.1"), metrics);
+    }
+
+    ModuleCacheProjectLookup(final Project project, final File moduleCache, final SbomMetrics metrics) {
+        super(project, metrics);
+        this.moduleCache = moduleCache;
+        this.modelResolver = new ModuleCacheModelResolver(moduleCache);
+    }
+
+    @Override
+    @Nullable Model resolveEffectivePom(final File pomFile) {
+        try {
+            return MavenHelper.resolveEffectivePom(pomFile, modelResolver);
+        } catch (IllegalStateException e) {
+            LOGGER.info(
+                    "{} Effective POM of {} not resolved from the module cache, using the POM itself: {}",
+                    LOG_PREFIX,
+                    pomFile.getName(),
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the POM of a module from the module cache by its coordinates, for modules known without resolving a
+     * graph. Unlike {@link #getResolvedMavenProject(org.gradle.api.artifacts.result.ResolvedComponentResult)}, the
+     * dependencies of the effective model replace the ones declared in the POM as well, as they are used to connect
+     * the module to its dependencies. Lookups are not remembered.
+     *
+     * @param group the group of the module
+     * @param module the name of the module
+     * @param version the version of the module
+     * @return the maven project, or null if its POM is not in the cache or cannot be read
+     */
+    @Nullable MavenProject getCachedMavenProject(final String group, final String module, final String version) {
+        final File pomFile = ModuleCacheModelResolver.findPom(moduleCache, group, module, version);
+        if (pomFile == null) {
+            return null;
+        }
+        try {
+            final MavenProject mavenProject = MavenHelper.readPom(pomFile);
+            if (mavenProject == null) {
+                return null;
+            }
+            final Model model = resolveEffectivePom(pomFile);
+            if (model != null) {
+                mavenProject.setLicenses(model.getLicenses());
+                mavenProject.getModel().setDependencies(model.getDependencies());
+            }
+            return mavenProject;
+        } catch (IllegalStateException e) {
+            LOGGER.info("{} Unable to read the POM of {}:{}:{}", LOG_PREFIX, group, module, version, e);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the main artifact of a module in the module cache by its coordinates.
+     *
+     * @param group the group of the module
+     * @param module the name of the module
+     * @param version the version of the module
+     * @return the artifact, or null if it is not in the cache
+     */
+    @Nullable File getCachedArtifact(final String group, final String module, final String version) {
+        return ModuleCacheModelResolver.findArtifact(moduleCache, group, module, version);
+    }
+
+    @Override
+    @Nullable File buildMavenProject(final ComponentIdentifier id) {
+        if (!(id instanceof ModuleComponentIdentifier)) {
+            return null;
+        }
+        final ModuleComponentIdentifier moduleId = (ModuleComponentIdentifier) id;
+        return ModuleCacheModelResolver.findPom(
+                moduleCache, moduleId.getGroup(), moduleId.getModule(), moduleId.getVersion());
+    }
+}
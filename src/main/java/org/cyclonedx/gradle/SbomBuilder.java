@@ -24,7 +24,9 @@ import com.github.packageurl.MalformedPackageURLException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -34,10 +36,10 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
 import org.cyclonedx.Version;
+import org.cyclonedx.generators.BomGeneratorFactory;
 import org.cyclonedx.gradle.model.ComponentComparator;
-import org.cyclonedx.gradle.model.DependencyComparator;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
 import org.cyclonedx.gradle.model.SbomComponent;
-import org.cyclonedx.gradle.model.SbomComponentId;
 import org.cyclonedx.gradle.model.SbomGraph;
 import org.cyclonedx.gradle.model.SchemaVersion;
 import org.cyclonedx.gradle.model.SchemaVersionMapper;
@@ -47,7 +49,6 @@ import org.cyclonedx.gradle.utils.ExternalReferencesUtil;
 import org.cyclonedx.gradle.utils.HashUtils;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.Component;
-import org.cyclonedx.model.Dependency;
 import org.cyclonedx.model.ExternalReference;
 import org.cyclonedx.model.Hash;
 import org.cyclonedx.model.LicenseChoice;
@@ -57,6 +58,7 @@ import org.cyclonedx.model.Property;
 import org.cyclonedx.model.Tool;
 import org.cyclonedx.model.metadata.ToolInformation;
 import org.cyclonedx.util.BomUtils;
+import org.gradle.api.GradleException;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.jspecify.annotations.Nullable;
@@ -68,19 +70,29 @@ import org.jspecify.annotations.Nullable;
 class SbomBuilder<T extends BaseCyclonedxTask> {
 
     private static final Logger LOGGER = Logging.getLogger(SbomBuilder.class);
+
+    /** Metadata property telling where the dependency graph of the BOM comes from, when not from resolution. */
+    static final String GRAPH_SOURCE_PROPERTY = "cdx:gradle:graph:source";
+
+    /** Value of {@link #GRAPH_SOURCE_PROPERTY} for a graph built from dependency lockfiles. */
+    static final String LOCKFILE_GRAPH_SOURCE = "lockfile";
+
     private final Map<File, List<Hash>> artifactHashes;
     private final List<Hash.Algorithm> hashAlgorithms;
     private final MavenHelper mavenHelper;
     private final Version version;
     private final SchemaVersion schemaVersion;
+    private final boolean reproducible;
     private final T task;
+    private BitSet nonTestScopes = new BitSet();
 
-    SbomBuilder(final T task) {
+    SbomBuilder(final T task, final LicenseCache licenseCache) {
         this.version = task.getSchemaVersion().get();
         this.schemaVersion = SchemaVersionMapper.from(this.version);
         this.artifactHashes = new HashMap<>();
         this.hashAlgorithms = HashUtils.selectAlgorithms(this.version);
-        this.mavenHelper = new MavenHelper(task.getIncludeLicenseText().get());
+        this.mavenHelper = new MavenHelper(task.getIncludeLicenseText().get(), licenseCache);
+        this.reproducible = task.getReproducible().get();
         this.task = task;
     }
 
@@ -93,26 +105,54 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
      */
     Bom buildBom(final SbomGraph graph) {
         LOGGER.info("{} Creating BOM", LOG_PREFIX);
-        final Set<Dependency> dependencies = new TreeSet<>(new DependencyComparator());
+        final DependencySectionBuilder dependencies = new DependencySectionBuilder();
         final Set<Component> components = new TreeSet<>(new ComponentComparator());
 
+        nonTestScopes = graph.getConfigurationScopes().matching(scope -> !isTestConfiguration(scope.getConfigName()));
         graph.getGraph().forEach((componentId, adjacentComponentIds) -> {
-            addDependency(dependencies, adjacentComponentIds);
+            dependencies.add(componentId, adjacentComponentIds.getDependencyComponents());
             addComponent(components, adjacentComponentIds, graph.getRootComponent());
         });
 
         final Bom bom = new Bom();
-        if (task.getIncludeBomSerialNumber().get()) {
-            bom.setSerialNumber("urn:uuid:" + UUID.randomUUID());
-        }
         bom.setMetadata(buildMetadata(graph.getRootComponent()));
         bom.setComponents(new ArrayList<>(components));
-        bom.setDependencies(new ArrayList<>(dependencies));
+        bom.setDependencies(dependencies.build());
+        applySerialNumber(bom);
         return bom;
     }
 
+    /**
+     * Sets the serial number of a completely assembled Bom. In reproducible mode the serial number is a name-based
+     * UUID of the canonical JSON serialization of the Bom without serial number, otherwise it is random.
+     *
+     * @param bom the Bom to set the serial number on
+     */
+    void applySerialNumber(final Bom bom) {
+        bom.setSerialNumber(null);
+        if (!task.getIncludeBomSerialNumber().get()) {
+            return;
+        }
+        if (reproducible) {
+            bom.setSerialNumber("urn:uuid:" + UUID.nameUUIDFromBytes(canonicalContent(bom)));
+        } else {
+            bom.setSerialNumber("urn:uuid:" + UUID.randomUUID());
+        }
+    }
+
+    private byte[] canonicalContent(final Bom bom) {
+        try {
+            return BomGeneratorFactory.createJson(version, bom).toJsonString().getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new GradleException("Error serializing BOM to derive its serial number", e);
+        }
+    }
+
     private Metadata buildMetadata(final SbomComponent rootComponent) {
         final Metadata metadata = new Metadata();
+        if (reproducible) {
+            metadata.setTimestamp(null);
+        }
         try {
             metadata.setComponent(buildFinilizedRootComponent(rootComponent));
         } catch (MalformedPackageURLException e) {
@@ -136,6 +176,14 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
             }
         }
 
+        if (isGraphFromLockfiles()) {
+            // per ADR 0010, a graph built from lockfiles is not the resolved graph ADR 0001 takes as evidence
+            final Property property = new Property();
+            property.setName(GRAPH_SOURCE_PROPERTY);
+            property.setValue(LOCKFILE_GRAPH_SOURCE);
+            metadata.addProperty(property);
+        }
+
         final Properties pluginProperties = readPluginProperties();
         if (!pluginProperties.isEmpty()) {
             // if schema version is 1.5 or higher use tools instead of tool
@@ -176,6 +224,10 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
     }
 
     private void addBuildSystemMetaData(final Component component) {
+        if (reproducible) {
+            LOGGER.info("{} Omitting build system URL of the current run from reproducible BOM", LOG_PREFIX);
+            return;
+        }
         if (task.getIncludeBuildSystem().get()) {
             String url;
             if (task.getBuildSystemEnvironmentVariable().isPresent()) {
@@ -193,38 +245,6 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
         }
     }
 
-    private void addDependency(final Set<Dependency> dependencies, final SbomComponent component) {
-        final Dependency dependency;
-        try {
-            dependency = toDependency(component.getId());
-        } catch (MalformedPackageURLException e) {
-            LOGGER.warn(
-                    "{} Error constructing packageUrl for component {}. Skipping...",
-                    LOG_PREFIX,
-                    component.getId().getName(),
-                    e);
-            return;
-        }
-        component.getDependencyComponents().forEach(dependencyComponent -> {
-            try {
-                dependency.addDependency(toDependency(dependencyComponent));
-            } catch (MalformedPackageURLException e) {
-                LOGGER.warn(
-                        "{} Error constructing packageUrl for component dependency {}. Skipping...",
-                        LOG_PREFIX,
-                        dependencyComponent.getName(),
-                        e);
-            }
-        });
-        dependencies.add(dependency);
-    }
-
-    private Dependency toDependency(final SbomComponentId componentId) throws MalformedPackageURLException {
-
-        final String ref = DependencyUtils.generatePackageUrl(componentId);
-        return new Dependency(ref);
-    }
-
     private void addComponent(
             final Set<Component> components, final SbomComponent component, final SbomComponent rootComponent) {
         if (component.equals(rootComponent)) {
@@ -269,8 +289,10 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
             resultComponent.setLicenses(licenseChoice);
         }
 
-        LOGGER.debug("{} Calculating hashes", LOG_PREFIX);
-        if (artifactFile != null) {
+        if (!component.getHashes().isEmpty()) {
+            resultComponent.setHashes(selectHashes(component.getHashes()));
+        } else if (artifactFile != null) {
+            LOGGER.debug("{} Calculating hashes", LOG_PREFIX);
             resultComponent.setHashes(calculateHashes(artifactFile));
         }
 
@@ -281,14 +303,20 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
         final Property isTestProperty = buildIsTestProperty(component);
         final List<Property> resultProperties = new ArrayList<>();
         resultProperties.add(isTestProperty);
+        component.getMetadataEnrichment().ifPresent(enrichment -> {
+            final Property property = new Property();
+            property.setName(MetadataEnrichment.PROPERTY_NAME);
+            property.setValue(enrichment.getValue());
+            resultProperties.add(property);
+        });
 
         return resultProperties;
     }
 
     private Property buildIsTestProperty(final SbomComponent component) {
 
-        boolean isTestComponent =
-                component.getInScopeConfigurations().stream().allMatch(v -> isTestConfiguration(v.getConfigName()));
+        // a test component is in no configuration other than test configurations
+        boolean isTestComponent = !component.getInScopeConfigurations().intersects(nonTestScopes);
 
         Property property = new Property();
         property.setName("cdx:maven:package:test");
@@ -296,15 +324,34 @@ class SbomBuilder<T extends BaseCyclonedxTask> {
         return property;
     }
 
+    private boolean isGraphFromLockfiles() {
+        return task instanceof CyclonedxGraphResolution
+                && ((CyclonedxGraphResolution) task).getDependenciesFromLockfiles().get();
+    }
+
     private boolean isTestConfiguration(final String configName) {
         return getTestConfigsPatterns().stream().anyMatch(configName::matches);
     }
 
     private List<String> getTestConfigsPatterns() {
-        if (task instanceof CyclonedxDirectTask) {
-            return ((CyclonedxDirectTask) task).getTestConfigs().get();
+        if (task instanceof CyclonedxGraphResolution) {
+            return ((CyclonedxGraphResolution) task).getTestConfigs().get();
+        }
+        return SbomGraphProvider.DEFAULT_TEST_CONFIGS;
+    }
+
+    /**
+     * Picks the hashes of the configured schema version from the ones calculated when resolving the graph.
+     */
+    private List<Hash> selectHashes(final Map<String, String> hashes) {
+        final List<Hash> selected = new ArrayList<>(hashAlgorithms.size());
+        for (final Hash.Algorithm algorithm : hashAlgorithms) {
+            final String value = hashes.get(algorithm.getSpec());
+            if (value != null) {
+                selected.add(new Hash(algorithm, value));
+            }
         }
-        return Collections.singletonList("^test.*");
+        return selected;
     }
 
     private List<Hash> calculateHashes(final File artifactFile) {
@@ -23,23 +23,42 @@ import static org.cyclonedx.gradle.CyclonedxPlugin.LOG_PREFIX;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
 import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
 import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.cyclonedx.gradle.utils.FingerprintUtils;
+import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ExternalModuleDependency;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -51,6 +70,9 @@ class SbomGraphProvider implements Callable<SbomGraph> {
     private static final Logger LOGGER = Logging.getLogger(SbomGraphProvider.class);
     private static final ResolvedArtifactResult[] ARTIFACT_TYPE = new ResolvedArtifactResult[0];
 
+    /** The patterns of test configuration names if not configured otherwise. */
+    static final List<String> DEFAULT_TEST_CONFIGS = Collections.singletonList("^test.*");
+
     private final Supplier<String> projectGroup;
     private final String projectName;
     private final Supplier<String> projectVersion;
@@ -58,11 +80,20 @@ class SbomGraphProvider implements Callable<SbomGraph> {
     private final String projectDisplayName;
     private final Iterable<Configuration> projectConfigurations;
     private final Iterable<Configuration> buildScriptConfigurations;
-    private final CyclonedxDirectTask task;
     private final MavenProjectLookup mavenLookup;
+    private final ModuleCacheProjectLookup moduleCacheLookup;
+    private final Provider<RegularFile> lockFile;
+    private final Provider<RegularFile> buildScriptLockFile;
+    private final Provider<CyclonedxBuildService> buildService;
+    private final SbomMetrics metrics;
+    private final CyclonedxGraphResolution resolution;
 
     @Nullable private SbomGraph cachedResult;
 
+    @Nullable private String cachedFingerprint;
+
+    @Nullable private Map<ComponentIdentifier, File> cachedArtifacts;
+
     SbomGraphProvider(
             final Supplier<String> projectGroup,
             final String projectName,
@@ -72,7 +103,12 @@ class SbomGraphProvider implements Callable<SbomGraph> {
             final Iterable<Configuration> projectConfigurations,
             final Iterable<Configuration> buildScriptConfigurations,
             final MavenProjectLookup mavenLookup,
-            final CyclonedxDirectTask task) {
+            final ModuleCacheProjectLookup moduleCacheLookup,
+            final Provider<RegularFile> lockFile,
+            final Provider<RegularFile> buildScriptLockFile,
+            final Provider<CyclonedxBuildService> buildService,
+            final SbomMetrics metrics,
+            final CyclonedxGraphResolution resolution) {
         this.projectGroup = projectGroup;
         this.projectName = projectName;
         this.projectVersion = projectVersion;
@@ -81,7 +117,63 @@ class SbomGraphProvider implements Callable<SbomGraph> {
         this.projectConfigurations = projectConfigurations;
         this.buildScriptConfigurations = buildScriptConfigurations;
         this.mavenLookup = mavenLookup;
-        this.task = task;
+        this.moduleCacheLookup = moduleCacheLookup;
+        this.lockFile = lockFile;
+        this.buildScriptLockFile = buildScriptLockFile;
+        this.buildService = buildService;
+        this.metrics = metrics;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Creates the provider of the dependency graph of a project.
+     *
+     * @param project the project
+     * @param resolution the options of resolving the graph
+     * @param buildService the build service sharing state between the projects of the build
+     * @return the provider
+     */
+    static SbomGraphProvider create(
+            final Project project,
+            final CyclonedxGraphResolution resolution,
+            final Provider<CyclonedxBuildService> buildService) {
+        final SbomMetrics metrics = new SbomMetrics();
+        return new SbomGraphProvider(
+                () -> project.getGroup().toString(),
+                project.getName(),
+                () -> project.getVersion().toString(),
+                project.getPath(),
+                project.getDisplayName(),
+                project.getConfigurations(),
+                project.getBuildscript().getConfigurations(),
+                new MavenProjectLookup(project, metrics),
+                new ModuleCacheProjectLookup(project, metrics),
+                project.getDependencyLocking().getLockFile(),
+                project.getBuildscript().getDependencyLocking().getLockFile(),
+                buildService,
+                metrics,
+                resolution);
+    }
+
+    /**
+     * Sets the conventions of the options of resolving the graph.
+     *
+     * @param resolution the options of resolving the graph
+     */
+    static void applyConventions(final CyclonedxGraphResolution resolution) {
+        resolution.getIncludeConfigs().convention(new ArrayList<>());
+        resolution.getSkipConfigs().convention(new ArrayList<>());
+        resolution.getIncludeComponents().convention(new ArrayList<>());
+        resolution.getSkipComponents().convention(new ArrayList<>());
+        resolution.getTestConfigs().convention(new ArrayList<>(DEFAULT_TEST_CONFIGS));
+        resolution.getIncludeMetadataResolution().convention(true);
+        resolution.getOfflineMetadataResolution().convention(false);
+        resolution.getDependenciesFromLockfiles().convention(false);
+        resolution.getTransitiveMetadataResolution().convention(MetadataResolutionTier.EMBEDDED_POM);
+        resolution.getTestMetadataResolution().convention(MetadataResolutionTier.FULL);
+        resolution.getIncludeBuildEnvironment().convention(false);
+        resolution.getMetadataResolutionThreads().convention(4);
+        resolution.getMetadataResolutionVirtualThreads().convention(false);
     }
 
     /**
@@ -91,6 +183,9 @@ class SbomGraphProvider implements Callable<SbomGraph> {
      *  2) if child projects exist, generate dependency graphs across all the child projects
      *  3) merge all generated graphs from the step 1) and 2)
      *
+     * The root component is identified by the project coordinates. Replacing it by the configured component
+     * coordinates is left to rendering, so that the graph does not depend on them.
+     *
      * @return the aggregated dependency graph
      */
     @Override
@@ -107,57 +202,183 @@ class SbomGraphProvider implements Callable<SbomGraph> {
         }
 
         LOGGER.info("{} Resolving dependencies for project [{}]", LOG_PREFIX, projectDisplayName);
-        final Map<SbomComponentId, SbomComponent> graph =
-                withPluginClassLoader(() -> traverseProject().reduce(new HashMap<>(), DependencyUtils::mergeGraphs));
-        cachedResult = buildSbomGraph(graph);
+        @Nullable final ExecutorService metadataExecutor = createMetadataExecutor();
+        try (SbomMetrics.Timer ignored = metrics.time("resolveGraph")) {
+            final ConfigurationScopes scopes = new ConfigurationScopes();
+            final boolean fromLockfiles = resolution.getDependenciesFromLockfiles().get();
+            final Map<SbomComponentId, SbomComponent> graph = withPluginClassLoader(() -> (fromLockfiles
+                            ? readLockfiles(scopes)
+                            : traverseProject(scopes, metadataExecutor))
+                    .reduce(new HashMap<>(), DependencyUtils::mergeGraphs));
+            metrics.add("graph.components", graph.size());
+            logTimedOut(graph);
+            cachedResult = buildSbomGraph(graph, scopes);
+        } finally {
+            if (metadataExecutor != null) {
+                metadataExecutor.shutdownNow();
+            }
+        }
         return cachedResult;
     }
 
-    private SbomGraph buildSbomGraph(final Map<SbomComponentId, SbomComponent> graph) {
+    /**
+     * Fingerprints what the graph is built from without traversing it: the resolution result of every in-scope
+     * configuration with the identities of its artifacts, or the locked and declared modules when the graph is built
+     * from lockfiles. Tasks use it as their up-to-date check and build cache key, so that it is decided without
+     * resolving any metadata.
+     *
+     * @return a hex encoded SHA-256 over the sorted entries
+     */
+    String fingerprint() {
+        if (cachedFingerprint != null) {
+            return cachedFingerprint;
+        }
+        final List<String> entries = new ArrayList<>();
+        entries.add("root=" + projectGroup.get() + ":" + projectName + ":" + projectVersion.get() + ":" + projectPath);
+        final Set<Configuration> buildScriptConfigs = toStream(buildScriptConfigurations).collect(Collectors.toSet());
+        try (SbomMetrics.Timer ignored = metrics.time("fingerprint")) {
+            if (resolution.getDependenciesFromLockfiles().get()) {
+                final Map<String, List<LockfileGraphReader.LockedModule>> projectLocks =
+                        LockfileGraphReader.parse(lockFile.map(RegularFile::getAsFile).getOrNull());
+                final Map<String, List<LockfileGraphReader.LockedModule>> buildScriptLocks =
+                        LockfileGraphReader.parse(buildScriptLockFile.map(RegularFile::getAsFile).getOrNull());
+                getInScopeConfigurations().forEach(config -> {
+                    final boolean buildScript = buildScriptConfigs.contains(config);
+                    entries.add((buildScript ? "buildscript:" : "") + config.getName() + "="
+                            + (buildScript ? buildScriptLocks : projectLocks).get(config.getName()) + "|"
+                            + new TreeSet<>(getDeclaredModules(config)));
+                });
+            } else {
+                final Map<ComponentIdentifier, File> artifacts = getArtifacts();
+                final Map<File, String> identities = new HashMap<>();
+                getInScopeConfigurations().forEach(config -> {
+                    final ResolvedComponentResult root =
+                            config.getIncoming().getResolutionResult().getRoot();
+                    entries.add((buildScriptConfigs.contains(config) ? "buildscript:" : "") + config.getName() + "="
+                            + FingerprintUtils.fingerprint(root, artifacts, identities));
+                });
+            }
+        }
+        cachedFingerprint = FingerprintUtils.fingerprint(entries);
+        return cachedFingerprint;
+    }
+
+    /**
+     * The artifact files of the in-scope configurations, without traversing their graphs. None when the graph is
+     * built from lockfiles, which does not resolve any configuration.
+     *
+     * @return the artifact files
+     */
+    Set<File> getArtifactFiles() {
+        return resolution.getDependenciesFromLockfiles().get()
+                ? new HashSet<>()
+                : new HashSet<>(getArtifacts().values());
+    }
+
+    private void logTimedOut(final Map<SbomComponentId, SbomComponent> graph) {
+        final long timedOut = graph.values().stream()
+                .filter(component ->
+                        component.getMetadataEnrichment().orElse(null) == MetadataEnrichment.TIMED_OUT)
+                .count();
+        if (timedOut > 0) {
+            LOGGER.warn(
+                    "{} Metadata resolution for project [{}] ran out of time, {} of {} components have no metadata and "
+                            + "are marked with the {} property",
+                    LOG_PREFIX,
+                    projectDisplayName,
+                    timedOut,
+                    graph.size(),
+                    MetadataEnrichment.PROPERTY_NAME);
+        }
+    }
+
+    /**
+     * Creates the executor reading the POMs embedded in artifacts while the graph is traversed, or returns null if
+     * they are to be read on the calling thread. Only local files are read on its threads, as Gradle only resolves
+     * dependencies on the thread running the task.
+     */
+    private @Nullable ExecutorService createMetadataExecutor() {
+        final int threads = resolution.getMetadataResolutionThreads().get();
+        if (!resolution.getIncludeMetadataResolution().get()
+                || resolution.getDependenciesFromLockfiles().get()
+                || threads <= 1) {
+            return null;
+        }
+        return MetadataExecutors.create(threads, resolution.getMetadataResolutionVirtualThreads().get());
+    }
+
+    private SbomGraph buildSbomGraph(
+            final Map<SbomComponentId, SbomComponent> graph, final ConfigurationScopes scopes) {
         final SbomComponentId projectBasedRootComponentId =
                 new SbomComponentId(projectGroup.get(), projectName, projectVersion.get(), null, projectPath);
-        final SbomComponentId configurationBasedRootComponentId = new SbomComponentId(
-                task.getComponentGroup().get(),
-                task.getComponentName().get(),
-                task.getComponentVersion().get(),
-                null,
-                projectPath);
+        return buildSbomGraph(graph, projectBasedRootComponentId, scopes, metrics);
+    }
+
+    /**
+     * Builds the graph of a project from the merged graphs of its configurations.
+     *
+     * @param graph the merged graphs of the configurations
+     * @param projectBasedRootComponentId the id of the project in the graph
+     * @param scopes the configuration scopes of the graph
+     * @param metrics the metrics of resolving the graph
+     * @return the graph, rooted at the project
+     */
+    static SbomGraph buildSbomGraph(
+            final Map<SbomComponentId, SbomComponent> graph,
+            final SbomComponentId projectBasedRootComponentId,
+            final ConfigurationScopes scopes,
+            final SbomMetrics metrics) {
         final SbomComponent sbomComponentFromGraph = graph.get(projectBasedRootComponentId);
         if (sbomComponentFromGraph == null) {
             LOGGER.warn(
                     "{} Root component [{}] not found in the graph, constructing it, but dependency graph will be disconnected",
                     LOG_PREFIX,
                     projectBasedRootComponentId);
-            final SbomComponent configurationBasedSbomComponent = new SbomComponent.Builder()
-                    .withId(configurationBasedRootComponentId)
+            final SbomComponent projectBasedSbomComponent = new SbomComponent.Builder()
+                    .withId(projectBasedRootComponentId)
                     .withDependencyComponents(new HashSet<>())
-                    .withInScopeConfigurations(new HashSet<>())
+                    .withInScopeConfigurations(new BitSet())
                     .withLicenses(new ArrayList<>())
                     .build();
-            return new SbomGraph(graph, configurationBasedSbomComponent);
-        } else {
-            if (projectBasedRootComponentId.equals(configurationBasedRootComponentId)) {
-                return new SbomGraph(graph, sbomComponentFromGraph);
-            } else {
-                final SbomComponent configurationBasedSbomComponent = new SbomComponent.Builder()
-                        .withId(configurationBasedRootComponentId)
-                        .withArtifactFile(
-                                sbomComponentFromGraph.getArtifactFile().orElse(null))
-                        .withDependencyComponents(sbomComponentFromGraph.getDependencyComponents())
-                        .withInScopeConfigurations(sbomComponentFromGraph.getInScopeConfigurations())
-                        .withLicenses(sbomComponentFromGraph.getLicenses())
-                        .withMetaData(sbomComponentFromGraph.getSbomMetaData().orElse(null))
-                        .build();
-                LOGGER.info(
-                        "{} Replacing project based root component [{}] with configuration based [{}]",
-                        LOG_PREFIX,
-                        projectBasedRootComponentId,
-                        configurationBasedRootComponentId);
-                graph.remove(projectBasedRootComponentId);
-                graph.put(configurationBasedRootComponentId, configurationBasedSbomComponent);
-                return new SbomGraph(graph, configurationBasedSbomComponent);
-            }
+            return new SbomGraph(graph, projectBasedSbomComponent, scopes, metrics);
         }
+        return new SbomGraph(graph, sbomComponentFromGraph, scopes, metrics);
+    }
+
+    /**
+     * Replaces the root component of the graph by one identified by the configured component coordinates, keeping
+     * its dependencies and metadata.
+     *
+     * @param sbomGraph the graph with the project based root component
+     * @param group the configured component group
+     * @param name the configured component name
+     * @param version the configured component version
+     *
+     * @return the graph with the configuration based root component
+     */
+    static SbomGraph withConfiguredRootComponent(
+            final SbomGraph sbomGraph, final String group, final String name, final String version) {
+        final SbomComponent rootComponent = sbomGraph.getRootComponent();
+        final SbomComponentId projectBasedRootComponentId = rootComponent.getId();
+        final SbomComponentId configurationBasedRootComponentId = new SbomComponentId(
+                group, name, version, null, projectBasedRootComponentId.getGradleProjectPath());
+        if (projectBasedRootComponentId.equals(configurationBasedRootComponentId)) {
+            return sbomGraph;
+        }
+        final SbomComponent configurationBasedSbomComponent = new SbomComponent.Builder(rootComponent)
+                .withId(configurationBasedRootComponentId)
+                .build();
+        final Map<SbomComponentId, SbomComponent> graph = sbomGraph.getGraph();
+        if (graph.remove(projectBasedRootComponentId) != null) {
+            LOGGER.info(
+                    "{} Replacing project based root component [{}] with configuration based [{}]",
+                    LOG_PREFIX,
+                    projectBasedRootComponentId,
+                    configurationBasedRootComponentId);
+            graph.put(configurationBasedRootComponentId, configurationBasedSbomComponent);
+        }
+        return new SbomGraph(
+                graph, configurationBasedSbomComponent, sbomGraph.getConfigurationScopes(), sbomGraph.getMetrics());
     }
 
     private static <T> T withPluginClassLoader(final Supplier<T> action) {
@@ -171,14 +392,108 @@ class SbomGraphProvider implements Callable<SbomGraph> {
         }
     }
 
-    private Stream<Map<SbomComponentId, SbomComponent>> traverseProject() {
-        final DependencyGraphTraverser traverser = new DependencyGraphTraverser(getArtifacts(), mavenLookup, task);
-        return getInScopeConfigurations()
-                .map(config -> traverser.traverseGraph(
-                        config.getIncoming().getResolutionResult().getRoot(), projectName, config.getName()));
+    private Stream<Map<SbomComponentId, SbomComponent>> traverseProject(
+            final ConfigurationScopes scopes, @Nullable final ExecutorService metadataExecutor) {
+        final Map<ComponentIdentifier, File> artifacts;
+        try (SbomMetrics.Timer ignored = metrics.time("resolveArtifacts")) {
+            artifacts = getArtifacts();
+        }
+        final boolean offline = resolution.getOfflineMetadataResolution().get();
+        final DependencyGraphTraverser traverser = new DependencyGraphTraverser(
+                artifacts,
+                offline ? moduleCacheLookup : mavenLookup,
+                scopes,
+                buildService.get().getComponentIds(),
+                resolution.getIncludeMetadataResolution().get(),
+                offline,
+                new MetadataResolutionPolicy(
+                        resolution.getMetadataResolutionDepth().getOrNull(),
+                        resolution.getTransitiveMetadataResolution().get(),
+                        resolution.getTestMetadataResolution().get(),
+                        resolution.getTestConfigs().get()),
+                resolution.getIncludeComponents().get(),
+                resolution.getSkipComponents().get(),
+                metadataExecutor,
+                new MetadataDeadline(
+                        resolution.getMetadataResolutionTimeout().getOrNull(),
+                        resolution.getMetadataResolutionComponentTimeout().getOrNull()),
+                metrics);
+        // the buildscript classpath is usually resolved identically by every project of the build, and configurations
+        // of a project often resolve to the same graph, e.g. runtimeClasspath and testRuntimeClasspath without any
+        // test dependencies, so both are traversed once per distinct graph
+        final Set<Configuration> buildScriptConfigs = toStream(buildScriptConfigurations).collect(Collectors.toSet());
+        final ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> projectGraphs = new ConcurrentHashMap<>();
+        return getInScopeConfigurations().map(config -> {
+            metrics.increment("graph.configurations");
+            try (SbomMetrics.Timer ignored = metrics.time("traverseGraph", config)) {
+                final ResolvedComponentResult root = config.getIncoming().getResolutionResult().getRoot();
+                return traverser.traverseSharedGraph(
+                        root,
+                        projectName,
+                        config.getName(),
+                        buildScriptConfigs.contains(config) ? buildService.get().getSharedGraphs() : projectGraphs);
+            }
+        });
+    }
+
+    /**
+     * Builds the graphs of the in-scope configurations from the lockfiles of the project and its buildscript, without
+     * resolving any configuration. Configurations which are not locked are left out.
+     */
+    private Stream<Map<SbomComponentId, SbomComponent>> readLockfiles(final ConfigurationScopes scopes) {
+        final SbomComponentIdPool componentIds = buildService.get().getComponentIds();
+        final LockfileGraphReader reader = new LockfileGraphReader(
+                moduleCacheLookup,
+                scopes,
+                componentIds,
+                resolution.getIncludeMetadataResolution().get(),
+                resolution.getIncludeComponents().get(),
+                resolution.getSkipComponents().get(),
+                metrics);
+        final Map<String, List<LockfileGraphReader.LockedModule>> projectLocks =
+                LockfileGraphReader.parse(lockFile.map(RegularFile::getAsFile).getOrNull());
+        final Map<String, List<LockfileGraphReader.LockedModule>> buildScriptLocks =
+                LockfileGraphReader.parse(buildScriptLockFile.map(RegularFile::getAsFile).getOrNull());
+        final Set<Configuration> buildScriptConfigs = toStream(buildScriptConfigurations).collect(Collectors.toSet());
+        final SbomComponentId rootId =
+                componentIds.intern(projectGroup.get(), projectName, projectVersion.get(), null, projectPath);
+        return getInScopeConfigurations().map(config -> {
+            final List<LockfileGraphReader.LockedModule> locked =
+                    (buildScriptConfigs.contains(config) ? buildScriptLocks : projectLocks).get(config.getName());
+            if (locked == null) {
+                LOGGER.warn(
+                        "{} Configuration {} of project [{}] is not locked, leaving it out of the BOM",
+                        LOG_PREFIX,
+                        config.getName(),
+                        projectDisplayName);
+                return new HashMap<>();
+            }
+            metrics.increment("graph.configurations");
+            try (SbomMetrics.Timer ignored = metrics.time("readLockfile", config)) {
+                return reader.readGraph(rootId, getDeclaredModules(config), locked, projectName, config.getName());
+            }
+        });
+    }
+
+    /**
+     * Lists the modules a configuration and the configurations it extends declare as dependencies, which does not
+     * resolve the configuration.
+     */
+    private static Set<String> getDeclaredModules(final Configuration configuration) {
+        return configuration.getAllDependencies().stream()
+                .filter(dependency -> dependency instanceof ExternalModuleDependency)
+                .map(dependency -> dependency.getGroup() + ":" + dependency.getName())
+                .collect(Collectors.toSet());
     }
 
     private Map<ComponentIdentifier, File> getArtifacts() {
+        if (cachedArtifacts == null) {
+            cachedArtifacts = resolveArtifacts();
+        }
+        return cachedArtifacts;
+    }
+
+    private Map<ComponentIdentifier, File> resolveArtifacts() {
         return getInScopeConfigurations()
                 .flatMap(config -> {
                     final ResolvedArtifactResult[] resolvedArtifacts = config.getIncoming()
@@ -204,12 +519,12 @@ class SbomGraphProvider implements Callable<SbomGraph> {
     }
 
     private boolean shouldSkipConfiguration(final Configuration configuration) {
-        return task.getSkipConfigs().get().stream().anyMatch(configuration.getName()::matches);
+        return resolution.getSkipConfigs().get().stream().anyMatch(configuration.getName()::matches);
     }
 
     private boolean shouldIncludeConfiguration(final Configuration configuration) {
-        return task.getIncludeConfigs().get().isEmpty()
-                || task.getIncludeConfigs().get().stream().anyMatch(configuration.getName()::matches);
+        return resolution.getIncludeConfigs().get().isEmpty()
+                || resolution.getIncludeConfigs().get().stream().anyMatch(configuration.getName()::matches);
     }
 
     private boolean filterConfigurations(final Configuration configuration) {
@@ -234,7 +549,7 @@ class SbomGraphProvider implements Callable<SbomGraph> {
                 toStream(projectConfigurations).filter(this::filterConfigurations);
 
         final Stream<Configuration> buildScriptConfigs;
-        if (task.getIncludeBuildEnvironment().get()) {
+        if (resolution.getIncludeBuildEnvironment().get()) {
             buildScriptConfigs = toStream(buildScriptConfigurations).filter(this::filterConfigurations);
         } else {
             buildScriptConfigs = Stream.empty();
@@ -19,6 +19,7 @@
 package org.cyclonedx.gradle.model;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 public class ConfigurationScope implements Serializable {
 
@@ -37,4 +38,22 @@ public class ConfigurationScope implements Serializable {
     public String getConfigName() {
         return configName;
     }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ConfigurationScope that = (ConfigurationScope) o;
+        return projectName.equals(that.projectName) && configName.equals(that.configName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectName, configName);
+    }
+
+    @Override
+    public String toString() {
+        return projectName + ":" + configName;
+    }
 }
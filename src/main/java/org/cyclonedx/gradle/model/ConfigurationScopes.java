@@ -0,0 +1,89 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Interned table of the configuration scopes of a graph. Every distinct (project, configuration) pair gets an index,
+ * and a component refers to the scopes it is in by a {@link BitSet} of these indexes, see
+ * {@link SbomComponent#getInScopeConfigurations()}, or by the scopes themselves when resolved through this table, see
+ * {@link SbomComponent#getInScopeConfigurations(ConfigurationScopes)}. The table only grows with the number of
+ * configurations, not with the number of components or edges.
+ */
+public final class ConfigurationScopes implements Serializable {
+
+    private final List<ConfigurationScope> scopes = new ArrayList<>();
+    private final Map<ConfigurationScope, Integer> indexes = new HashMap<>();
+
+    /**
+     * Returns the index of a scope, adding it to the table if it is not in it yet.
+     *
+     * @param projectName the name of the project the configuration belongs to
+     * @param configName the name of the configuration
+     * @return the index of the scope
+     */
+    public synchronized int intern(final String projectName, final String configName) {
+        final ConfigurationScope scope = new ConfigurationScope(projectName, configName);
+        final Integer index = indexes.get(scope);
+        if (index != null) {
+            return index;
+        }
+        scopes.add(scope);
+        indexes.put(scope, scopes.size() - 1);
+        return scopes.size() - 1;
+    }
+
+    /**
+     * Resolves a set of indexes to the scopes they stand for.
+     *
+     * @param bits the indexes
+     * @return the scopes in the order of their indexes
+     */
+    public synchronized List<ConfigurationScope> resolve(final BitSet bits) {
+        final List<ConfigurationScope> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(scopes.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the mask of all scopes matching a predicate, to classify components by a single bit set operation
+     * instead of testing each of their scopes.
+     *
+     * @param predicate the predicate scopes are tested with
+     * @return a new set with the indexes of the matching scopes
+     */
+    public synchronized BitSet matching(final Predicate<ConfigurationScope> predicate) {
+        final BitSet mask = new BitSet(scopes.size());
+        for (int i = 0; i < scopes.size(); i++) {
+            if (predicate.test(scopes.get(i))) {
+                mask.set(i);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Emits a Java Flight Recorder event named {@value #EVENT_NAME} for every phase timed by {@link SbomMetrics}, with
+ * the phase, the subject (e.g. the component or the configuration) and, where known, the number of bytes processed.
+ *
+ * <p>The plugin is compiled for Java 8, which has no {@code jdk.jfr} API, so the event type is defined at runtime
+ * through {@code jdk.jfr.EventFactory} and driven by method handles. On a JVM without JFR every call is a no-op. While
+ * no recording enables the event, a phase costs one enabled check and nothing is allocated for it.
+ *
+ * <p>The event is enabled by default, so any recording of the Gradle daemon includes it, e.g. one started with
+ * {@code -XX:StartFlightRecording} in {@code org.gradle.jvmargs}.
+ */
+final class FlightRecorderEvents {
+
+    static final String EVENT_NAME = "org.cyclonedx.gradle.SbomPhase";
+
+    private static final Logger LOGGER = Logging.getLogger(FlightRecorderEvents.class);
+
+    private static final int PHASE = 0;
+    private static final int SUBJECT = 1;
+    private static final int BYTES = 2;
+
+    @Nullable private static final FlightRecorderEvents INSTANCE = create();
+
+    private final Object eventType;
+    private final Object eventFactory;
+    private final MethodHandle isEnabled;
+    private final MethodHandle newEvent;
+    private final MethodHandle set;
+    private final MethodHandle begin;
+    private final MethodHandle end;
+    private final MethodHandle commit;
+
+    private FlightRecorderEvents(
+            final Object eventFactory,
+            final Object eventType,
+            final MethodHandle isEnabled,
+            final MethodHandle newEvent,
+            final MethodHandle set,
+            final MethodHandle begin,
+            final MethodHandle end,
+            final MethodHandle commit) {
+        this.eventFactory = eventFactory;
+        this.eventType = eventType;
+        this.isEnabled = isEnabled;
+        this.newEvent = newEvent;
+        this.set = set;
+        this.begin = begin;
+        this.end = end;
+        this.commit = commit;
+    }
+
+    /**
+     * Begins an event if a recording has enabled it.
+     *
+     * @param phase the name of the phase
+     * @param subject what the phase works on, converted to a string only if the event is enabled
+     * @param bytes the number of bytes processed, or a negative number if not known
+     * @return the begun event, to be passed to {@link #end(Object)}, or null if the event is not enabled
+     */
+    static @Nullable Object begin(final String phase, @Nullable final Object subject, final long bytes) {
+        final FlightRecorderEvents events = INSTANCE;
+        if (events == null) {
+            return null;
+        }
+        try {
+            if (!(boolean) events.isEnabled.invoke(events.eventType)) {
+                return null;
+            }
+            final Object event = events.newEvent.invoke(events.eventFactory);
+            events.set.invoke(event, PHASE, phase);
+            events.set.invoke(event, SUBJECT, subject == null ? null : subject.toString());
+            events.set.invoke(event, BYTES, Math.max(bytes, 0L));
+            events.begin.invoke(event);
+            return event;
+        } catch (Throwable e) {
+            LOGGER.debug("Unable to begin flight recorder event", e);
+            return null;
+        }
+    }
+
+    /**
+     * Ends and commits an event begun by {@link #begin(String, Object, long)}.
+     *
+     * @param event the begun event, or null
+     */
+    static void end(@Nullable final Object event) {
+        final FlightRecorderEvents events = INSTANCE;
+        if (event == null || events == null) {
+            return;
+        }
+        try {
+            events.end.invoke(event);
+            events.commit.invoke(event);
+        } catch (Throwable e) {
+            LOGGER.debug("Unable to commit flight recorder event", e);
+        }
+    }
+
+    private static @Nullable FlightRecorderEvents create() {
+        try {
+            final ClassLoader loader = ClassLoader.getSystemClassLoader();
+            final Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement", false, loader);
+            final Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor", false, loader);
+            final Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory", false, loader);
+            final Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType", false, loader);
+            final Class<?> eventClass = Class.forName("jdk.jfr.Event", false, loader);
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            final MethodHandle annotation = lookup.findConstructor(
+                    annotationElementClass, MethodType.methodType(void.class, Class.class, Object.class));
+            final MethodHandle field = lookup.findConstructor(
+                    valueDescriptorClass,
+                    MethodType.methodType(void.class, Class.class, String.class, List.class));
+
+            final List<Object> eventAnnotations = Arrays.asList(
+                    annotation.invoke(annotationClass("jdk.jfr.Name", loader), EVENT_NAME),
+                    annotation.invoke(annotationClass("jdk.jfr.Label", loader), "CycloneDX SBOM Phase"),
+                    annotation.invoke(
+                            annotationClass("jdk.jfr.Description", loader),
+                            "A phase of generating a CycloneDX SBOM in Gradle"),
+                    annotation.invoke(annotationClass("jdk.jfr.Category", loader), categories("CycloneDX", "Gradle")));
+            final List<Object> fields = Arrays.asList(
+                    field.invoke(String.class, "phase", labels(annotation, loader, "Phase")),
+                    field.invoke(String.class, "subject", labels(annotation, loader, "Subject")),
+                    field.invoke(
+                            long.class,
+                            "bytes",
+                            Arrays.asList(
+                                    annotation.invoke(annotationClass("jdk.jfr.Label", loader), "Bytes"),
+                                    annotation.invoke(annotationClass("jdk.jfr.DataAmount", loader), "BYTES"))));
+
+            final MethodHandle create = lookup.findStatic(
+                    eventFactoryClass, "create", MethodType.methodType(eventFactoryClass, List.class, List.class));
+            final Object eventFactory = create.invoke(eventAnnotations, fields);
+            final Object eventType = lookup.findVirtual(
+                            eventFactoryClass, "getEventType", MethodType.methodType(eventTypeClass))
+                    .invoke(eventFactory);
+
+            return new FlightRecorderEvents(
+                    eventFactory,
+                    eventType,
+                    lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class)),
+                    lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(eventClass)),
+                    lookup.findVirtual(
+                            eventClass, "set", MethodType.methodType(void.class, int.class, Object.class)),
+                    lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class)),
+                    lookup.findVirtual(eventClass, "end", MethodType.methodType(void.class)),
+                    lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class)));
+        } catch (Throwable e) {
+            LOGGER.debug("Java Flight Recorder events are not available", e);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Annotation> annotationClass(final String name, final ClassLoader loader)
+            throws ClassNotFoundException {
+        return (Class<? extends Annotation>) Class.forName(name, false, loader);
+    }
+
+    private static List<Object> labels(final MethodHandle annotation, final ClassLoader loader, final String label)
+            throws Throwable {
+        return Collections.singletonList(annotation.invoke(annotationClass("jdk.jfr.Label", loader), label));
+    }
+
+    private static Object categories(final String... names) {
+        final Object categories = Array.newInstance(String.class, names.length);
+        for (int i = 0; i < names.length; i++) {
+            Array.set(categories, i, names[i]);
+        }
+        return categories;
+    }
+}
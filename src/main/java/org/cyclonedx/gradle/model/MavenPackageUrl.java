@@ -0,0 +1,129 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import com.github.packageurl.MalformedPackageURLException;
+import com.github.packageurl.PackageURL;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Encodes the canonical form of the Maven package URLs of components without going through {@link PackageURL}, which
+ * validates, percent-encodes and sorts the qualifiers anew for every call.
+ *
+ * <p>The fast path is only taken if every part consists of characters that {@code PackageURL} leaves as they are,
+ * i.e. the unreserved characters {@code A-Z a-z 0-9 - . _ ~}, plus the colon in the {@code project_path} qualifier,
+ * which it always encodes as {@code %3A}. For such input the canonical form is the parts joined by the purl
+ * separators, with the qualifiers in the fixed order {@code project_path}, {@code type}. Any other input, which is
+ * rare for Maven coordinates, is passed to {@code PackageURL}, so the result is the same as its canonical form for
+ * every input.
+ */
+final class MavenPackageUrl {
+
+    private static final String PREFIX = "pkg:" + PackageURL.StandardTypes.MAVEN + "/";
+
+    private MavenPackageUrl() {}
+
+    /**
+     * Returns the canonical package URL of a Maven component.
+     *
+     * @param namespace the group
+     * @param name the name
+     * @param version the version
+     * @param projectPath the value of the {@code project_path} qualifier, or null
+     * @param type the value of the {@code type} qualifier, or null
+     * @return the canonical package URL
+     * @throws MalformedPackageURLException if the parts do not form a valid package URL
+     */
+    static String canonicalize(
+            final String namespace,
+            final String name,
+            final String version,
+            @Nullable final String projectPath,
+            @Nullable final String type)
+            throws MalformedPackageURLException {
+        if (isUnreserved(namespace, false)
+                && isUnreserved(name, false)
+                && isUnreserved(version, false)
+                && (projectPath == null || isUnreserved(projectPath, true))
+                && (type == null || isUnreserved(type, false))) {
+            final StringBuilder purl = new StringBuilder(PREFIX.length()
+                            + namespace.length()
+                            + name.length()
+                            + version.length()
+                            + 40)
+                    .append(PREFIX)
+                    .append(namespace)
+                    .append('/')
+                    .append(name)
+                    .append('@')
+                    .append(version);
+            char separator = '?';
+            if (projectPath != null) {
+                purl.append(separator).append("project_path=");
+                appendEncodingColons(purl, projectPath);
+                separator = '&';
+            }
+            if (type != null) {
+                purl.append(separator).append("type=").append(type);
+            }
+            return purl.toString();
+        }
+        final TreeMap<String, String> qualifiers = new TreeMap<>();
+        if (projectPath != null) {
+            qualifiers.put("project_path", projectPath);
+        }
+        if (type != null) {
+            qualifiers.put("type", type);
+        }
+        return new PackageURL(PackageURL.StandardTypes.MAVEN, namespace, name, version, qualifiers, null)
+                .canonicalize();
+    }
+
+    private static boolean isUnreserved(final String value, final boolean allowColon) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            final boolean unreserved = (c >= 'a' && c <= 'z')
+                    || (c >= 'A' && c <= 'Z')
+                    || (c >= '0' && c <= '9')
+                    || c == '-'
+                    || c == '.'
+                    || c == '_'
+                    || c == '~';
+            if (!unreserved && !(allowColon && c == ':')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendEncodingColons(final StringBuilder purl, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == ':') {
+                purl.append("%3A");
+            } else {
+                purl.append(c);
+            }
+        }
+    }
+}
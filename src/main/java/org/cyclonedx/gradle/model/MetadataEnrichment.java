@@ -0,0 +1,60 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+/**
+ * Why the metadata of a component was not or only partly resolved although metadata resolution is enabled. It is
+ * reported as the {@value #PROPERTY_NAME} property of the component, so that consumers can tell a component without a
+ * license from one whose license was never looked up. Components whose metadata was resolved carry no such property.
+ */
+public enum MetadataEnrichment {
+
+    /**
+     * Metadata is only read locally, and neither the artifact nor Gradle's module cache hold a POM of the component.
+     */
+    NOT_CACHED("not-cached"),
+
+    /**
+     * The time budget of metadata resolution had run out, or the component did not finish within its deadline.
+     */
+    TIMED_OUT("timed-out"),
+
+    /**
+     * Only the POM embedded in the artifact was read, as asked for by the metadata resolution tier of the component.
+     */
+    EMBEDDED_POM("embedded-pom"),
+
+    /** Metadata resolution was skipped, as asked for by the metadata resolution tier of the component. */
+    SKIPPED("skipped");
+
+    public static final String PROPERTY_NAME = "cdx:gradle:metadata:enrichment";
+
+    private final String value;
+
+    MetadataEnrichment(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the value of the {@value #PROPERTY_NAME} property
+     */
+    public String getValue() {
+        return value;
+    }
+}
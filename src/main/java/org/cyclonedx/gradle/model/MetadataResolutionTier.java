@@ -18,12 +18,24 @@
  */
 package org.cyclonedx.gradle.model;
 
-import java.util.Comparator;
-import org.cyclonedx.model.Dependency;
+/**
+ * How much metadata resolution is done for a component, from the most to the least expensive. A component found by
+ * several configurations gets the most metadata any of them asks for.
+ */
+public enum MetadataResolutionTier {
+
+    /**
+     * The POM embedded in the artifact and the POM looked up in the repositories, with the licenses of its effective
+     * model, which resolves its parent POMs.
+     */
+    FULL,
+
+    /**
+     * Only the POM embedded in the artifact, which is a local file. Its own licenses are used, those inherited from
+     * parent POMs are missing.
+     */
+    EMBEDDED_POM,
 
-public class DependencyComparator implements Comparator<Dependency> {
-    @Override
-    public int compare(final Dependency o1, final Dependency o2) {
-        return o1.getRef().compareTo(o2.getRef());
-    }
+    /** No metadata resolution at all. */
+    NONE
 }
@@ -20,8 +20,11 @@ package org.cyclonedx.gradle.model;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -31,42 +34,76 @@ import org.jspecify.annotations.Nullable;
 public final class SbomComponent implements Serializable {
 
     private final SbomComponentId id;
-    private final Set<ConfigurationScope> inScopeConfigurations;
+    private final BitSet inScopeConfigurations;
     private final Set<SbomComponentId> dependencyComponents;
 
-    @Nullable private final File artifactFile;
+    /**
+     * Not written to the graph file: its path is specific to the machine and the Gradle user home, and the graph task
+     * hashes the artifact before writing the graph.
+     */
+    @Nullable private final transient File artifactFile;
 
     @Nullable private final SbomMetaData metaData;
 
     private final List<License> licenses;
 
+    private final Map<String, String> hashes;
+
+    @Nullable private final MetadataEnrichment metadataEnrichment;
+
     private SbomComponent(
             final SbomComponentId id,
-            final Set<ConfigurationScope> inScopeConfigurations,
+            final BitSet inScopeConfigurations,
             final Set<SbomComponentId> dependencyComponents,
             @Nullable final File artifactFile,
             @Nullable final SbomMetaData metaData,
-            final List<License> licenses) {
+            final List<License> licenses,
+            final Map<String, String> hashes,
+            @Nullable final MetadataEnrichment metadataEnrichment) {
         this.id = id;
         this.inScopeConfigurations = inScopeConfigurations;
         this.dependencyComponents = dependencyComponents;
         this.artifactFile = artifactFile;
         this.metaData = metaData;
         this.licenses = licenses;
+        this.hashes = hashes;
+        this.metadataEnrichment = metadataEnrichment;
     }
 
     public SbomComponentId getId() {
         return id;
     }
 
-    public Set<ConfigurationScope> getInScopeConfigurations() {
+    /**
+     * The configurations the component is in, as indexes into the {@link ConfigurationScopes} of the graph.
+     *
+     * @return the indexes of the configuration scopes
+     */
+    public BitSet getInScopeConfigurations() {
         return inScopeConfigurations;
     }
 
+    /**
+     * The configurations the component is in, resolved through the {@link ConfigurationScopes} of the graph the
+     * component belongs to.
+     *
+     * @param scopes the configuration scopes of the graph
+     * @return the configuration scopes, in the order of their indexes
+     */
+    public Set<ConfigurationScope> getInScopeConfigurations(final ConfigurationScopes scopes) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(scopes.resolve(inScopeConfigurations)));
+    }
+
     public Set<SbomComponentId> getDependencyComponents() {
         return dependencyComponents;
     }
 
+    /**
+     * The artifact file of the component, as resolved in this build. Empty when the component has no artifact, or was
+     * read from a graph file.
+     *
+     * @return the artifact file
+     */
     public Optional<File> getArtifactFile() {
         return Optional.ofNullable(artifactFile);
     }
@@ -79,6 +116,25 @@ public final class SbomComponent implements Serializable {
         return licenses;
     }
 
+    /**
+     * Hashes of the artifact file, keyed by the algorithm name as used by CycloneDX (e.g. {@code SHA-256}). Empty
+     * when the hashes have not been calculated yet.
+     *
+     * @return the hash values by algorithm name
+     */
+    public Map<String, String> getHashes() {
+        return hashes;
+    }
+
+    /**
+     * Why the metadata of the component was not resolved. Empty when it was resolved or not asked for.
+     *
+     * @return the reason the metadata is missing
+     */
+    public Optional<MetadataEnrichment> getMetadataEnrichment() {
+        return Optional.ofNullable(metadataEnrichment);
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (o == null || getClass() != o.getClass()) {
@@ -90,19 +146,29 @@ public final class SbomComponent implements Serializable {
                 && Objects.equals(dependencyComponents, that.dependencyComponents)
                 && Objects.equals(artifactFile, that.artifactFile)
                 && Objects.equals(metaData, that.metaData)
-                && Objects.equals(licenses, that.licenses);
+                && Objects.equals(licenses, that.licenses)
+                && Objects.equals(hashes, that.hashes)
+                && metadataEnrichment == that.metadataEnrichment;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, inScopeConfigurations, dependencyComponents, artifactFile, metaData, licenses);
+        return Objects.hash(
+                id,
+                inScopeConfigurations,
+                dependencyComponents,
+                artifactFile,
+                metaData,
+                licenses,
+                hashes,
+                metadataEnrichment);
     }
 
     public static class Builder {
 
         @Nullable private SbomComponentId id;
 
-        private Set<ConfigurationScope> inScopeConfigurations = Collections.emptySet();
+        private BitSet inScopeConfigurations = new BitSet();
         private Set<SbomComponentId> dependencyComponents = Collections.emptySet();
 
         @Nullable private File artifactFile;
@@ -111,18 +177,43 @@ public final class SbomComponent implements Serializable {
 
         private List<License> licenses = Collections.emptyList();
 
+        private Map<String, String> hashes = Collections.emptyMap();
+
+        @Nullable private MetadataEnrichment metadataEnrichment;
+
         public Builder() {}
 
+        public Builder(final SbomComponent component) {
+            this.id = component.id;
+            this.inScopeConfigurations = component.inScopeConfigurations;
+            this.dependencyComponents = component.dependencyComponents;
+            this.artifactFile = component.artifactFile;
+            this.metaData = component.metaData;
+            this.licenses = component.licenses;
+            this.hashes = component.hashes;
+            this.metadataEnrichment = component.metadataEnrichment;
+        }
+
         public Builder withId(final SbomComponentId id) {
             this.id = id;
             return this;
         }
 
-        public Builder withInScopeConfigurations(final Set<ConfigurationScope> inScopeConfigurations) {
+        public Builder withInScopeConfigurations(final BitSet inScopeConfigurations) {
             this.inScopeConfigurations = inScopeConfigurations;
             return this;
         }
 
+        public Builder withInScopeConfigurations(
+                final Set<ConfigurationScope> inScopeConfigurations, final ConfigurationScopes scopes) {
+            final BitSet bits = new BitSet();
+            for (final ConfigurationScope scope : inScopeConfigurations) {
+                bits.set(scopes.intern(scope.getProjectName(), scope.getConfigName()));
+            }
+            this.inScopeConfigurations = bits;
+            return this;
+        }
+
         public Builder withDependencyComponents(final Set<SbomComponentId> dependencyComponents) {
             this.dependencyComponents = dependencyComponents;
             return this;
@@ -143,6 +234,16 @@ public final class SbomComponent implements Serializable {
             return this;
         }
 
+        public Builder withHashes(final Map<String, String> hashes) {
+            this.hashes = hashes;
+            return this;
+        }
+
+        public Builder withMetadataEnrichment(@Nullable final MetadataEnrichment metadataEnrichment) {
+            this.metadataEnrichment = metadataEnrichment;
+            return this;
+        }
+
         public SbomComponent build() {
             return new SbomComponent(
                     Objects.requireNonNull(id),
@@ -150,7 +251,9 @@ public final class SbomComponent implements Serializable {
                     dependencyComponents,
                     artifactFile,
                     metaData,
-                    licenses);
+                    licenses,
+                    hashes,
+                    metadataEnrichment);
         }
     }
 }
@@ -18,13 +18,21 @@
  */
 package org.cyclonedx.gradle.model;
 
+import com.github.packageurl.MalformedPackageURLException;
 import java.io.Serializable;
 import java.util.Objects;
 import java.util.TreeMap;
 import org.jspecify.annotations.Nullable;
 
+/**
+ * Immutable identifier of a component. The hash is computed once on construction and the package URL once on first
+ * use, as ids are looked up in maps and rendered as BOM references many times. Use {@link SbomComponentIdPool} to
+ * share one instance per distinct id.
+ */
 public class SbomComponentId implements Serializable {
 
+    private static final String UNSPECIFIED = "unspecified";
+
     private final String group;
     private final String name;
     private final String version;
@@ -33,6 +41,10 @@ public class SbomComponentId implements Serializable {
 
     @Nullable private final String gradleProjectPath;
 
+    private final int hash;
+
+    @Nullable private transient volatile String packageUrl;
+
     public SbomComponentId(
             final String group,
             final String name,
@@ -44,6 +56,7 @@ public class SbomComponentId implements Serializable {
         this.version = version;
         this.type = type;
         this.gradleProjectPath = gradleProjectPath;
+        this.hash = computeHash(group, name, version, type);
     }
 
     public String getName() {
@@ -77,12 +90,33 @@ public class SbomComponentId implements Serializable {
         return result;
     }
 
+    /**
+     * The canonical Maven package URL of the component, which is also used as its BOM reference.
+     *
+     * @return the canonical package URL
+     * @throws MalformedPackageURLException if the coordinates do not form a valid package URL
+     */
+    public String getPackageUrl() throws MalformedPackageURLException {
+        String result = packageUrl;
+        if (result == null) {
+            result = MavenPackageUrl.canonicalize(
+                    group.isEmpty() ? UNSPECIFIED : group,
+                    name,
+                    version.isEmpty() ? UNSPECIFIED : version,
+                    gradleProjectPath,
+                    type);
+            packageUrl = result;
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final SbomComponentId that = (SbomComponentId) o;
-        return Objects.equals(group, that.group)
+        return hash == that.hash
+                && Objects.equals(group, that.group)
                 && Objects.equals(name, that.name)
                 && Objects.equals(version, that.version)
                 && Objects.equals(type, that.type);
@@ -90,7 +124,20 @@ public class SbomComponentId implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(group, name, version, type);
+        return hash;
+    }
+
+    /**
+     * Same value as {@code Objects.hash(group, name, version, type)}, without allocating the varargs array.
+     */
+    private static int computeHash(
+            final String group, final String name, final String version, @Nullable final String type) {
+        int result = 1;
+        result = 31 * result + group.hashCode();
+        result = 31 * result + name.hashCode();
+        result = 31 * result + version.hashCode();
+        result = 31 * result + Objects.hashCode(type);
+        return result;
     }
 
     @Override
@@ -0,0 +1,96 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thread-safe intern pool of component ids, so that a component found in many configurations and projects is
+ * represented by a single instance, whose hash and package URL are computed once.
+ *
+ * <p>Ids are pooled by all of their fields. {@link SbomComponentId#equals(Object)} ignores the Gradle project path,
+ * but the path is part of the package URL, so ids differing only in it must not share an instance.
+ */
+public final class SbomComponentIdPool {
+
+    private final ConcurrentMap<Key, SbomComponentId> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the pooled id with the given fields, adding a new one if there is none yet.
+     *
+     * @param group the group
+     * @param name the name
+     * @param version the version
+     * @param type the type, e.g. the artifact extension
+     * @param gradleProjectPath the path of the Gradle project, for project components only
+     * @return the pooled id
+     */
+    public SbomComponentId intern(
+            final String group,
+            final String name,
+            final String version,
+            @Nullable final String type,
+            @Nullable final String gradleProjectPath) {
+        return intern(new SbomComponentId(group, name, version, type, gradleProjectPath));
+    }
+
+    /**
+     * Returns the pooled id equal to the given one in all fields, adding the given one if there is none yet.
+     *
+     * @param id the id to intern
+     * @return the pooled id
+     */
+    public SbomComponentId intern(final SbomComponentId id) {
+        final SbomComponentId pooled = ids.putIfAbsent(new Key(id), id);
+        return pooled == null ? id : pooled;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private static final class Key {
+
+        private final SbomComponentId id;
+        private final int hash;
+
+        private Key(final SbomComponentId id) {
+            this.id = id;
+            this.hash = 31 * id.hashCode() + Objects.hashCode(id.getGradleProjectPath());
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key that = (Key) o;
+            return hash == that.hash
+                    && id.equals(that.id)
+                    && Objects.equals(id.getGradleProjectPath(), that.id.getGradleProjectPath());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
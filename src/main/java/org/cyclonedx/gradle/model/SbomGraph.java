@@ -29,10 +29,29 @@ public class SbomGraph implements Serializable {
 
     private final Map<SbomComponentId, SbomComponent> graph;
     private final SbomComponent rootComponent;
+    private final ConfigurationScopes configurationScopes;
+    private final SbomMetrics metrics;
 
     public SbomGraph(final Map<SbomComponentId, SbomComponent> graph, final SbomComponent rootComponent) {
+        this(graph, rootComponent, new ConfigurationScopes());
+    }
+
+    public SbomGraph(
+            final Map<SbomComponentId, SbomComponent> graph,
+            final SbomComponent rootComponent,
+            final ConfigurationScopes configurationScopes) {
+        this(graph, rootComponent, configurationScopes, new SbomMetrics());
+    }
+
+    public SbomGraph(
+            final Map<SbomComponentId, SbomComponent> graph,
+            final SbomComponent rootComponent,
+            final ConfigurationScopes configurationScopes,
+            final SbomMetrics metrics) {
         this.graph = graph;
         this.rootComponent = rootComponent;
+        this.configurationScopes = configurationScopes;
+        this.metrics = metrics;
     }
 
     public Map<SbomComponentId, SbomComponent> getGraph() {
@@ -42,4 +61,23 @@ public class SbomGraph implements Serializable {
     public SbomComponent getRootComponent() {
         return rootComponent;
     }
+
+    /**
+     * The table the configuration scopes of the components refer to.
+     *
+     * @return the configuration scopes of this graph
+     */
+    public ConfigurationScopes getConfigurationScopes() {
+        return configurationScopes;
+    }
+
+    /**
+     * The metrics recorded while resolving this graph. They travel with the graph because it may be resolved while
+     * the configuration cache entry is stored, long before the task using it runs.
+     *
+     * @return the metrics of the graph resolution
+     */
+    public SbomMetrics getMetrics() {
+        return metrics;
+    }
 }
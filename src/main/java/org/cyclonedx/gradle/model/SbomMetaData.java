@@ -18,6 +18,9 @@
  */
 package org.cyclonedx.gradle.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -79,5 +82,21 @@ public class SbomMetaData implements Serializable {
             super.setType(org.cyclonedx.model.ExternalReference.Type.fromString(type));
             super.setUrl(url);
         }
+
+        // The fields of the non-serializable superclass are not written by default serialization
+        private void writeObject(final ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            out.writeObject(getType() == null ? null : getType().getTypeName());
+            out.writeObject(getUrl());
+        }
+
+        private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            final String type = (String) in.readObject();
+            if (type != null) {
+                setType(org.cyclonedx.model.ExternalReference.Type.fromString(type));
+            }
+            setUrl((String) in.readObject());
+        }
     }
 }
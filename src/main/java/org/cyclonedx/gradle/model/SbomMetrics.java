@@ -0,0 +1,228 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import java.io.Serializable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Thread-safe collector of wall times per phase and of counters recorded while generating an SBOM. Phases may nest,
+ * e.g. POM lookups happen during the graph traversal, so the times of different phases do not add up.
+ *
+ * <p>Counters named {@code <name>.hits} and {@code <name>.misses} are reported together as a hit rate of
+ * {@code <name>}.
+ */
+public final class SbomMetrics implements Serializable {
+
+    private static final String HITS = ".hits";
+    private static final String MISSES = ".misses";
+
+    private final ConcurrentMap<String, Phase> phases = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Starts timing one call of a phase. The call is recorded when the returned timer is closed.
+     *
+     * @param phase the name of the phase
+     * @return the running timer
+     */
+    public Timer time(final String phase) {
+        return time(phase, null, -1);
+    }
+
+    /**
+     * Starts timing one call of a phase working on a subject, which is reported in the Java Flight Recorder event of
+     * the call.
+     *
+     * @param phase the name of the phase
+     * @param subject what the call works on, converted to a string only if the event is recorded
+     * @return the running timer
+     */
+    public Timer time(final String phase, @Nullable final Object subject) {
+        return time(phase, subject, -1);
+    }
+
+    /**
+     * Starts timing one call of a phase working on a subject of a known size, both of which are reported in the Java
+     * Flight Recorder event of the call.
+     *
+     * @param phase the name of the phase
+     * @param subject what the call works on, converted to a string only if the event is recorded
+     * @param bytes the number of bytes processed by the call, or a negative number if not known
+     * @return the running timer
+     */
+    public Timer time(final String phase, @Nullable final Object subject, final long bytes) {
+        return new Timer(this, phase, FlightRecorderEvents.begin(phase, subject, bytes));
+    }
+
+    /**
+     * Records one call of a phase.
+     *
+     * @param phase the name of the phase
+     * @param nanos the wall time of the call in nanoseconds
+     */
+    public void record(final String phase, final long nanos) {
+        final Phase entry = phases.computeIfAbsent(phase, name -> new Phase());
+        entry.calls.incrementAndGet();
+        entry.nanos.addAndGet(nanos);
+    }
+
+    public void increment(final String counter) {
+        add(counter, 1);
+    }
+
+    public void add(final String counter, final long amount) {
+        counters.computeIfAbsent(counter, name -> new AtomicLong()).addAndGet(amount);
+    }
+
+    public long getCalls(final String phase) {
+        final Phase entry = phases.get(phase);
+        return entry == null ? 0 : entry.calls.get();
+    }
+
+    public long getCount(final String counter) {
+        final AtomicLong value = counters.get(counter);
+        return value == null ? 0 : value.get();
+    }
+
+    /**
+     * Adds everything recorded by another collector to this one.
+     *
+     * @param other the collector to add
+     */
+    public void merge(final SbomMetrics other) {
+        other.phases.forEach((name, phase) -> {
+            final Phase entry = phases.computeIfAbsent(name, key -> new Phase());
+            entry.calls.addAndGet(phase.calls.get());
+            entry.nanos.addAndGet(phase.nanos.get());
+        });
+        other.counters.forEach((name, value) -> add(name, value.get()));
+    }
+
+    /**
+     * Renders the recorded metrics as JSON with phases, counters and hit rates sorted by name.
+     *
+     * @param task the path of the task the metrics were recorded for
+     * @return the JSON document
+     */
+    public String toJson(final String task) {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n  \"task\" : ").append(quote(task)).append(",\n  \"phases\" : {");
+        String separator = "\n";
+        for (final Map.Entry<String, Phase> entry : new TreeMap<>(phases).entrySet()) {
+            json.append(separator)
+                    .append("    ")
+                    .append(quote(entry.getKey()))
+                    .append(" : { \"calls\" : ")
+                    .append(entry.getValue().calls.get())
+                    .append(", \"millis\" : ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue().nanos.get()))
+                    .append(" }");
+            separator = ",\n";
+        }
+        json.append(phases.isEmpty() ? "" : "\n  ").append("},\n  \"counters\" : {");
+
+        final Map<String, Long> sortedCounters = new TreeMap<>();
+        counters.forEach((name, value) -> sortedCounters.put(name, value.get()));
+        final Map<String, Double> hitRates = new TreeMap<>();
+        separator = "\n";
+        for (final Map.Entry<String, Long> entry : sortedCounters.entrySet()) {
+            json.append(separator)
+                    .append("    ")
+                    .append(quote(entry.getKey()))
+                    .append(" : ")
+                    .append(entry.getValue());
+            separator = ",\n";
+            if (entry.getKey().endsWith(HITS)) {
+                final String name = entry.getKey().substring(0, entry.getKey().length() - HITS.length());
+                final long hits = entry.getValue();
+                final long total = hits + getCount(name + MISSES);
+                hitRates.put(name, total == 0 ? 0.0 : (double) hits / total);
+            } else if (entry.getKey().endsWith(MISSES)) {
+                final String name = entry.getKey().substring(0, entry.getKey().length() - MISSES.length());
+                hitRates.putIfAbsent(name, 0.0);
+            }
+        }
+        json.append(counters.isEmpty() ? "" : "\n  ").append("},\n  \"hitRates\" : {");
+
+        separator = "\n";
+        for (final Map.Entry<String, Double> entry : hitRates.entrySet()) {
+            json.append(separator)
+                    .append("    ")
+                    .append(quote(entry.getKey()))
+                    .append(" : ")
+                    .append(String.format(Locale.ROOT, "%.4f", entry.getValue()));
+            separator = ",\n";
+        }
+        json.append(hitRates.isEmpty() ? "" : "\n  ").append("}\n}\n");
+        return json.toString();
+    }
+
+    private static String quote(final String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static final class Phase implements Serializable {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+
+    /**
+     * Times one call of a phase, to be used with try-with-resources. If a Java Flight Recorder recording has enabled
+     * the {@value FlightRecorderEvents#EVENT_NAME} event, the call is recorded as an event as well.
+     */
+    public static final class Timer implements AutoCloseable {
+
+        private final SbomMetrics metrics;
+        private final String phase;
+        private final long start;
+
+        @Nullable private final Object event;
+
+        private Timer(final SbomMetrics metrics, final String phase, @Nullable final Object event) {
+            this.metrics = metrics;
+            this.phase = phase;
+            this.event = event;
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            metrics.record(phase, System.nanoTime() - start);
+            FlightRecorderEvents.end(event);
+        }
+    }
+}
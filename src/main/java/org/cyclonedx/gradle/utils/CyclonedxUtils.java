@@ -29,6 +29,7 @@ import org.cyclonedx.exception.ParseException;
 import org.cyclonedx.generators.BomGeneratorFactory;
 import org.cyclonedx.generators.json.BomJsonGenerator;
 import org.cyclonedx.generators.xml.BomXmlGenerator;
+import org.cyclonedx.gradle.model.SbomMetrics;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.parsers.JsonParser;
 import org.cyclonedx.parsers.Parser;
@@ -72,29 +73,77 @@ public class CyclonedxUtils {
     }
 
     public static void writeJsonBom(final Version schemaVersion, final Bom bom, final File destination) {
-        final BomJsonGenerator bomGenerator = BomGeneratorFactory.createJson(schemaVersion, bom);
-        try {
+        writeJsonBom(schemaVersion, bom, destination, new SbomMetrics());
+    }
+
+    /**
+     * Writes and validates the JSON BOM, recording the time spent on each in the given metrics.
+     *
+     * @param schemaVersion the CycloneDX schema version
+     * @param bom the BOM to write
+     * @param destination the destination file
+     * @param metrics the metrics to record to
+     */
+    public static void writeJsonBom(
+            final Version schemaVersion, final Bom bom, final File destination, final SbomMetrics metrics) {
+        try (SbomMetrics.Timer ignored = metrics.time("serializeJson", destination)) {
+            final BomJsonGenerator bomGenerator = BomGeneratorFactory.createJson(schemaVersion, bom);
             final String bomString = bomGenerator.toJsonString();
             FileUtils.write(destination, bomString, StandardCharsets.UTF_8, false);
+            metrics.add("output.json.bytes", destination.length());
             LOGGER.info("{} Json BOM saved at {}", LOG_PREFIX, destination);
         } catch (Exception e) {
             throw new GradleException("Error writing json bom file", e);
         }
 
-        validateBom(new JsonParser(), schemaVersion, destination);
+        try (SbomMetrics.Timer ignored = metrics.time("validateJson", destination)) {
+            validateBom(new JsonParser(), schemaVersion, destination);
+        }
     }
 
     public static void writeXmlBom(final Version schemaVersion, final Bom bom, final File destination) {
-        final BomXmlGenerator bomGenerator = BomGeneratorFactory.createXml(schemaVersion, bom);
-        try {
+        writeXmlBom(schemaVersion, bom, destination, new SbomMetrics());
+    }
+
+    /**
+     * Writes and validates the XML BOM, recording the time spent on each in the given metrics.
+     *
+     * @param schemaVersion the CycloneDX schema version
+     * @param bom the BOM to write
+     * @param destination the destination file
+     * @param metrics the metrics to record to
+     */
+    public static void writeXmlBom(
+            final Version schemaVersion, final Bom bom, final File destination, final SbomMetrics metrics) {
+        try (SbomMetrics.Timer ignored = metrics.time("serializeXml", destination)) {
+            final BomXmlGenerator bomGenerator = BomGeneratorFactory.createXml(schemaVersion, bom);
             final String bomString = bomGenerator.toXmlString();
             FileUtils.write(destination, bomString, StandardCharsets.UTF_8, false);
+            metrics.add("output.xml.bytes", destination.length());
             LOGGER.info("{} XML BOM saved at {}", LOG_PREFIX, destination);
         } catch (Exception e) {
             throw new GradleException("Error writing xml bom file", e);
         }
 
-        validateBom(new XmlParser(), schemaVersion, destination);
+        try (SbomMetrics.Timer ignored = metrics.time("validateXml", destination)) {
+            validateBom(new XmlParser(), schemaVersion, destination);
+        }
+    }
+
+    /**
+     * Writes the metrics report of a task.
+     *
+     * @param metrics the recorded metrics
+     * @param taskPath the path of the task the metrics were recorded for
+     * @param destination the destination file
+     */
+    public static void writeMetrics(final SbomMetrics metrics, final String taskPath, final File destination) {
+        try {
+            FileUtils.write(destination, metrics.toJson(taskPath), StandardCharsets.UTF_8, false);
+            LOGGER.info("{} Metrics saved at {}", LOG_PREFIX, destination);
+        } catch (Exception e) {
+            throw new GradleException("Error writing metrics file", e);
+        }
     }
 
     private static void validateBom(final Parser bomParser, final Version schemaVersion, final File destination) {
@@ -19,15 +19,16 @@
 package org.cyclonedx.gradle.utils;
 
 import com.github.packageurl.MalformedPackageURLException;
-import com.github.packageurl.PackageURL;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
 import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
 import org.gradle.api.artifacts.ArtifactView;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
@@ -48,7 +49,16 @@ public class DependencyUtils {
                 SbomComponent resultComponent = Objects.requireNonNull(mergedGraph.get(id));
                 SbomComponent targetComponent = Objects.requireNonNull(secondGraph.get(id));
                 resultComponent.getDependencyComponents().addAll(targetComponent.getDependencyComponents());
-                resultComponent.getInScopeConfigurations().addAll(targetComponent.getInScopeConfigurations());
+                resultComponent.getInScopeConfigurations().or(targetComponent.getInScopeConfigurations());
+                if (tierRank(targetComponent) < tierRank(resultComponent)) {
+                    // the metadata resolution tier of another configuration resolved more metadata
+                    mergedGraph.put(
+                            id,
+                            new SbomComponent.Builder(targetComponent)
+                                    .withDependencyComponents(resultComponent.getDependencyComponents())
+                                    .withInScopeConfigurations(resultComponent.getInScopeConfigurations())
+                                    .build());
+                }
             } else {
                 mergedGraph.put(id, secondGraph.get(id));
             }
@@ -57,7 +67,27 @@ public class DependencyUtils {
         return mergedGraph;
     }
 
-    public static SbomComponentId toComponentId(final ResolvedComponentResult node, final @Nullable File file) {
+    /**
+     * Ranks how much metadata was resolved for a component, lower is more. Metadata which could not be resolved within
+     * the time budget or from the local caches ranks below every tier, as it is incomplete whatever the tier asked for.
+     */
+    private static int tierRank(final SbomComponent component) {
+        final MetadataEnrichment enrichment = component.getMetadataEnrichment().orElse(null);
+        if (enrichment == null) {
+            return 0;
+        }
+        switch (enrichment) {
+            case EMBEDDED_POM:
+                return 1;
+            case SKIPPED:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    public static SbomComponentId toComponentId(
+            final ResolvedComponentResult node, final @Nullable File file, final SbomComponentIdPool componentIds) {
         String type = null;
         String projectPath = null;
         if (node.getId() instanceof ModuleComponentIdentifier) {
@@ -72,17 +102,37 @@ public class DependencyUtils {
         }
 
         if (node.getModuleVersion() != null) {
-            return new SbomComponentId(
+            return componentIds.intern(
                     node.getModuleVersion().getGroup(),
                     node.getModuleVersion().getName(),
                     node.getModuleVersion().getVersion(),
                     type,
                     projectPath);
         } else {
-            return new SbomComponentId(UNSPECIFIED, node.getId().getDisplayName(), UNSPECIFIED, type, projectPath);
+            return componentIds.intern(
+                    UNSPECIFIED, node.getId().getDisplayName(), UNSPECIFIED, type, projectPath);
         }
     }
 
+    /**
+     * Creates the id of a module known by its coordinates rather than resolved, such as one read from a lockfile.
+     *
+     * @param group the group of the module
+     * @param name the name of the module
+     * @param version the version of the module
+     * @param file the artifact of the module, or null if there is none
+     * @param componentIds the pool to intern the id in
+     * @return the id of the module
+     */
+    public static SbomComponentId toComponentId(
+            final String group,
+            final String name,
+            final String version,
+            final @Nullable File file,
+            final SbomComponentIdPool componentIds) {
+        return componentIds.intern(group, name, version, file != null ? getType(file) : "pom", null);
+    }
+
     private static String getType(final File file) {
 
         final String fileExtension = FilenameUtils.getExtension(file.getName());
@@ -104,13 +154,6 @@ public class DependencyUtils {
     }
 
     public static String generatePackageUrl(final SbomComponentId componentId) throws MalformedPackageURLException {
-        return new PackageURL(
-                        PackageURL.StandardTypes.MAVEN,
-                        componentId.getGroup().isEmpty() ? UNSPECIFIED : componentId.getGroup(),
-                        componentId.getName(),
-                        componentId.getVersion().isEmpty() ? UNSPECIFIED : componentId.getVersion(),
-                        componentId.getQualifiers(),
-                        null)
-                .canonicalize();
+        return componentId.getPackageUrl();
     }
 }
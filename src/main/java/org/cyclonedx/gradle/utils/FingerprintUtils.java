@@ -0,0 +1,187 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.gradle.api.GradleException;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+
+/**
+ * Computes a compact fingerprint of a resolved dependency graph for up-to-date checks and build cache keys.
+ *
+ * <p>Gradle stores every external artifact in its module cache under a directory named after the SHA-1 of the file's
+ * content ({@code files-2.1/<group>/<module>/<version>/<sha1>/<file>}). For those artifacts the directory name already
+ * is a content checksum, so the fingerprint uses it instead of reading the file. Only artifacts outside the module
+ * cache, e.g. from {@code mavenLocal()} or a flat directory repository, are hashed by content.
+ *
+ * <p>The fingerprint is taken from Gradle's resolution result before the graph is traversed, so that it does not cost
+ * any of the metadata resolution it decides about.
+ */
+public final class FingerprintUtils {
+
+    /** Identifies the missing artifact of a component, such as a project or a platform. */
+    public static final String NO_ARTIFACT = "-";
+
+    private static final Pattern MODULE_CACHE_ARTIFACT =
+            Pattern.compile(".*[/\\\\]files-2\\.1[/\\\\][^/\\\\]+[/\\\\][^/\\\\]+[/\\\\][^/\\\\]+[/\\\\]([0-9a-f]{20,40})"
+                    + "[/\\\\][^/\\\\]+");
+
+    private FingerprintUtils() {}
+
+    /**
+     * Describes the resolution result of a configuration by the components, artifacts and edges reachable from its
+     * root, one entry per component. The identity of the root itself, which is the project resolving it, is left out.
+     * Nothing is resolved by metadata enrichment, so this is cheap enough to decide whether a graph has to be
+     * traversed at all.
+     *
+     * @param root the root of the resolution result
+     * @param artifactIdentity identifies the artifact of a component, {@value #NO_ARTIFACT} if it has none
+     * @return the entries, in no particular order
+     */
+    public static List<String> describe(
+            final ResolvedComponentResult root, final Function<ComponentIdentifier, String> artifactIdentity) {
+        final List<String> entries = new ArrayList<>();
+        final Set<ComponentIdentifier> visited = new HashSet<>();
+        final Queue<ResolvedComponentResult> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            final ResolvedComponentResult node = queue.poll();
+            if (!visited.add(node.getId())) {
+                continue;
+            }
+            final List<String> dependencies = new ArrayList<>();
+            for (final DependencyResult dep : node.getDependencies()) {
+                if (!dep.isConstraint() && dep instanceof ResolvedDependencyResult) {
+                    final ResolvedComponentResult selected = ((ResolvedDependencyResult) dep).getSelected();
+                    if (!node.getId().equals(selected.getId())) {
+                        dependencies.add(selected.getId().getDisplayName());
+                        queue.add(selected);
+                    }
+                }
+            }
+            dependencies.sort(null);
+            entries.add((node == root ? "" : node.getId().getDisplayName())
+                    + "|" + artifactIdentity.apply(node.getId())
+                    + "|" + String.join(",", dependencies));
+        }
+        return entries;
+    }
+
+    /**
+     * Fingerprints the resolution result of a configuration, see {@link #describe(ResolvedComponentResult, Function)}.
+     * Artifacts are identified by {@link #artifactIdentity(File)}, so the result does not depend on absolute paths of
+     * the module cache.
+     *
+     * @param root the root of the resolution result
+     * @param artifacts the artifact files of the components
+     * @param identities the identities of artifacts already fingerprinted, which are added to
+     * @return a hex encoded SHA-256 over the sorted component entries
+     */
+    public static String fingerprint(
+            final ResolvedComponentResult root,
+            final Map<ComponentIdentifier, File> artifacts,
+            final Map<File, String> identities) {
+        return fingerprint(describe(root, id -> {
+            final File artifact = artifacts.get(id);
+            return artifact == null
+                    ? NO_ARTIFACT
+                    : identities.computeIfAbsent(artifact, FingerprintUtils::artifactIdentity);
+        }));
+    }
+
+    /**
+     * Fingerprints a set of entries describing something, independent of their order.
+     *
+     * @param entries the entries, which are sorted in place
+     * @return a hex encoded SHA-256 over the sorted entries
+     */
+    public static String fingerprint(final List<String> entries) {
+        Collections.sort(entries);
+
+        final MessageDigest digest = sha256();
+        for (final String entry : entries) {
+            digest.update(entry.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Identifies the content of an artifact file without reading it when it is stored in Gradle's module cache.
+     *
+     * @param file the artifact file
+     * @return the module cache checksum, or the SHA-256 of the file content for files outside the module cache
+     */
+    public static String artifactIdentity(final File file) {
+        final Matcher matcher = MODULE_CACHE_ARTIFACT.matcher(file.getPath());
+        if (matcher.matches()) {
+            return "sha1:" + matcher.group(1) + "/" + file.getName();
+        }
+        if (!file.isFile()) {
+            return "missing:" + file.getName();
+        }
+        final MessageDigest digest = sha256();
+        final byte[] buffer = new byte[8192];
+        try (final InputStream input = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Error fingerprinting artifact " + file, e);
+        }
+        return "sha256:" + toHex(digest.digest()) + "/" + file.getName();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every JVM", e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+}
@@ -74,6 +74,16 @@ public class HashUtils {
         return selectAlgorithms(schemaVersion, HashUtils::isAvailable);
     }
 
+    /**
+     * Selects the algorithms available to this build JVM for any schema version. Hashes calculated with this set can
+     * be narrowed down to {@link #selectAlgorithms(Version)} when the schema version is known.
+     *
+     * @return the algorithms to request hashes for, in the order they are computed
+     */
+    public static List<Hash.Algorithm> selectAllAlgorithms() {
+        return selectAlgorithms(Version.VERSION_17, HashUtils::isAvailable);
+    }
+
     /**
      * Selects the algorithms for the given schema version, testing SHA3 availability with the supplied predicate.
      *
@@ -0,0 +1,125 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.file.Files;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.gradle.api.GradleException;
+
+/**
+ * Reads and writes the graph file that hands a resolved and enriched {@link SbomGraph} from the task resolving it to
+ * the task rendering the BOM, and the metrics of resolving it. The format is Java serialization of the model and is
+ * private to a single plugin version, it is not meant to be consumed by anything else.
+ */
+public final class SbomGraphUtils {
+
+    private SbomGraphUtils() {}
+
+    /**
+     * Writes the graph to the given file, replacing any previous content.
+     *
+     * @param graph the graph to write
+     * @param file the destination file
+     */
+    public static void writeGraph(final SbomGraph graph, final File file) {
+        write(graph, file, "dependency graph");
+    }
+
+    /**
+     * Reads a graph previously written by {@link #writeGraph(SbomGraph, File)}.
+     *
+     * @param file the graph file
+     * @return the graph
+     */
+    public static SbomGraph readGraph(final File file) {
+        return read(SbomGraph.class, file, "dependency graph");
+    }
+
+    /**
+     * Writes the metrics of resolving a graph next to the graph file. They are kept apart from the graph so that the
+     * content of the graph file only changes when the graph does.
+     *
+     * @param metrics the metrics to write
+     * @param file the destination file
+     */
+    public static void writeMetrics(final SbomMetrics metrics, final File file) {
+        write(metrics, file, "metrics");
+    }
+
+    /**
+     * Reads metrics previously written by {@link #writeMetrics(SbomMetrics, File)}.
+     *
+     * @param file the metrics file
+     * @return the metrics
+     */
+    public static SbomMetrics readMetrics(final File file) {
+        return read(SbomMetrics.class, file, "metrics");
+    }
+
+    private static void write(final Serializable object, final File file, final String description) {
+        try {
+            Files.createDirectories(file.getAbsoluteFile().getParentFile().toPath());
+            try (final ObjectOutputStream output =
+                    new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+                output.writeObject(object);
+            }
+        } catch (IOException e) {
+            throw new GradleException("Error writing " + description + " to " + file, e);
+        }
+    }
+
+    private static <T> T read(final Class<T> type, final File file, final String description) {
+        try (final ObjectInputStream input =
+                new PluginObjectInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            return type.cast(input.readObject());
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new GradleException("Error reading " + description + " from " + file, e);
+        }
+    }
+
+    /**
+     * Resolves classes through the plugin's class loader, which is not necessarily the one Java serialization would
+     * pick from the call stack when running inside Gradle.
+     */
+    private static final class PluginObjectInputStream extends ObjectInputStream {
+
+        private PluginObjectInputStream(final InputStream input) throws IOException {
+            super(input);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, SbomGraphUtils.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
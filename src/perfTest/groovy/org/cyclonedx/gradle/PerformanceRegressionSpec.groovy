@@ -0,0 +1,165 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle
+
+import org.gradle.api.JavaVersion
+import org.gradle.testkit.runner.GradleRunner
+import org.junit.jupiter.api.Assumptions
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Measures synthetic multi-project builds and compares the measurements with the stored baseline:
+ * - configuration time, measured as a dry run of cyclonedxBom
+ * - execution time of cyclonedxDirectBom, summed over all projects, and of cyclonedxBom
+ * - peak heap usage of the daemon
+ *
+ * A measurement fails the spec when it exceeds the baseline by more than the tolerance. A scenario for which the
+ * baseline has no value is skipped rather than passed, so that it shows in the report until the baseline is recorded.
+ * Run with -PupdatePerformanceBaseline to replace the baseline with the measurements.
+ */
+@IgnoreIf({ !JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_17) })
+class PerformanceRegressionSpec extends Specification {
+
+    static final int WARMUP_RUNS = 2
+    static final int MEASURED_RUNS = 5
+
+    @Shared
+    File baselineFile = new File(
+        System.getProperty("performanceBaseline", "src/perfTest/resources/performance-baseline.properties"))
+
+    @Shared
+    Properties baseline = load(baselineFile)
+
+    @Shared
+    Properties results = new Properties()
+
+    @Shared
+    boolean updateBaseline = Boolean.getBoolean("updatePerformanceBaseline")
+
+    @Shared
+    double tolerance = Double.parseDouble(
+        System.getProperty("performanceTolerance", baseline.getProperty("tolerance", "0.25")))
+
+    def cleanupSpec() {
+        def resultsFile = new File(
+            System.getProperty("performanceResults", "build/reports/performance/results.properties"))
+        resultsFile.parentFile.mkdirs()
+        resultsFile.withOutputStream { results.store(it, "Medians of ${MEASURED_RUNS} runs") }
+        if (updateBaseline) {
+            def updated = new Properties()
+            updated.setProperty("tolerance", String.valueOf(tolerance))
+            updated.putAll(results)
+            baselineFile.withOutputStream { updated.store(it, "Recorded with -PupdatePerformanceBaseline") }
+        }
+    }
+
+    @Unroll
+    def "#scenario build should not regress against the baseline"() {
+        given:
+        File metricsFile = File.createTempFile("metrics", ".properties")
+        File testDir = new SyntheticBuild(subprojects, externalModules, depth, fanOut).generate(metricsFile)
+
+        when:
+        Map<String, Long> measured = measure(testDir, metricsFile)
+        measured.each { metric, value -> results.setProperty("${scenario}.${metric}", String.valueOf(value)) }
+        List<String> missing = missingBaselines(scenario, measured)
+
+        then:
+        regressions(scenario, measured) == []
+
+        and:
+        Assumptions.assumeTrue(
+            missing.isEmpty(), "No baseline for ${missing}, record it with -PupdatePerformanceBaseline".toString())
+
+        where:
+        scenario | subprojects | externalModules | depth | fanOut
+        "small"  | 10          | 100             | 3     | 3
+        "large"  | 100         | 1000            | 6     | 4
+    }
+
+    private static Map<String, Long> measure(File testDir, File metricsFile) {
+        def runs = []
+        for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+            long start = System.nanoTime()
+            run(testDir, "cyclonedxBom", "--dry-run")
+            long configurationMillis = (System.nanoTime() - start).intdiv(1_000_000)
+
+            run(testDir, "cyclonedxBom", "recordMetrics", "--rerun-tasks")
+            def metrics = load(metricsFile)
+            if (i >= WARMUP_RUNS) {
+                runs << [
+                    configurationMillis      : configurationMillis,
+                    cyclonedxDirectBomMillis : Long.parseLong(metrics.getProperty("cyclonedxDirectBomMillis")),
+                    cyclonedxBomMillis       : Long.parseLong(metrics.getProperty("cyclonedxBomMillis")),
+                    peakHeapMegabytes        : Long.parseLong(metrics.getProperty("peakHeapMegabytes"))
+                ]
+            }
+        }
+        return runs[0].keySet().collectEntries { metric -> [metric, median(runs.collect { it[metric] as long })] }
+    }
+
+    private static void run(File testDir, String... args) {
+        def arguments = new ArrayList<String>(Arrays.asList(args))
+        // Configuration has to run in every build to be measured, and nothing may be fetched from the network
+        arguments.addAll(["--offline", "--no-configuration-cache", "--no-parallel", "--no-watch-fs"])
+        GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+    }
+
+    private List<String> regressions(String scenario, Map<String, Long> measured) {
+        if (updateBaseline) {
+            return []
+        }
+        def regressions = []
+        measured.each { metric, value ->
+            def expected = baseline.getProperty("${scenario}.${metric}")
+            if (expected != null && value > Long.parseLong(expected) * (1 + tolerance)) {
+                regressions << "${metric}: ${value}, baseline ${expected}, tolerance ${(tolerance * 100) as int}%".toString()
+            }
+        }
+        return regressions
+    }
+
+    private List<String> missingBaselines(String scenario, Map<String, Long> measured) {
+        if (updateBaseline) {
+            return []
+        }
+        return measured.findAll { metric, value -> baseline.getProperty("${scenario}.${metric}") == null }
+            .collect { metric, value -> "${metric}: ${value}".toString() }
+    }
+
+    private static long median(List<Long> values) {
+        def sorted = values.sort(false)
+        return sorted[sorted.size().intdiv(2)]
+    }
+
+    private static Properties load(File file) {
+        def properties = new Properties()
+        if (file.exists()) {
+            file.withInputStream { properties.load(it) }
+        }
+        return properties
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle
+
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+/**
+ * Generates a multi-project build together with a file-based Maven repository holding its external modules, laid out
+ * like test-repos/local, so that the build resolves offline.
+ *
+ * The subprojects form a tree in which every subproject depends on up to fanOut others. The external modules are
+ * spread over depth layers, every module depending on up to fanOut modules of the next layer, and every subproject
+ * depends on fanOut modules of the first layer.
+ */
+class SyntheticBuild {
+
+    static final String GROUP = "com.example.synthetic"
+
+    final int subprojects
+    final int externalModules
+    final int depth
+    final int fanOut
+
+    SyntheticBuild(int subprojects, int externalModules, int depth, int fanOut) {
+        this.subprojects = subprojects
+        this.externalModules = externalModules
+        this.depth = Math.max(1, depth)
+        this.fanOut = fanOut
+    }
+
+    /**
+     * Writes the build and its repository to a new temporary directory.
+     *
+     * @param metricsFile the file the recordMetrics task of the build writes the task times and the peak heap usage
+     * of the daemon to
+     * @return the project directory of the build
+     */
+    File generate(File metricsFile) {
+        def dir = File.createTempDir("synthetic", "build")
+        def repository = new File(dir, "repository")
+        for (int i = 0; i < externalModules; i++) {
+            writeModule(repository, i)
+        }
+
+        def settings = new StringBuilder(settingsScript())
+        for (int i = 0; i < subprojects; i++) {
+            settings << "include 'module-${i}'\n"
+        }
+        new File(dir, "settings.gradle").text = settings.toString()
+        new File(dir, "build.gradle").text = rootBuildScript(repository, metricsFile)
+        for (int i = 0; i < subprojects; i++) {
+            def projectDir = new File(dir, "module-${i}")
+            projectDir.mkdirs()
+            new File(projectDir, "build.gradle").text = subprojectBuildScript(i)
+        }
+        return dir
+    }
+
+    /**
+     * The daemon is reused between builds, so the settings script, the first one a build evaluates, resets the peak
+     * heap usage. Garbage left by earlier builds is collected first, so that it does not count towards the peak.
+     */
+    private static String settingsScript() {
+        return """
+            import java.lang.management.ManagementFactory
+            import java.lang.management.MemoryType
+
+            System.gc()
+            ManagementFactory.memoryPoolMXBeans.findAll { it.type == MemoryType.HEAP }*.resetPeakUsage()
+
+            rootProject.name = 'synthetic'
+            """.stripIndent()
+    }
+
+    private static String rootBuildScript(File repository, File metricsFile) {
+        def repositoryUrl = repository.toURI().toString()
+        def metricsPath = metricsFile.absolutePath.replace("\\", "/")
+        return """
+            import java.lang.management.ManagementFactory
+            import java.lang.management.MemoryType
+            import java.util.concurrent.ConcurrentHashMap
+
+            plugins {
+                id 'org.cyclonedx.bom'
+            }
+
+            allprojects {
+                group = 'com.example'
+                version = '1.0.0'
+                repositories {
+                    maven { url = '${repositoryUrl}' }
+                }
+            }
+
+            subprojects {
+                apply plugin: 'java-library'
+            }
+
+            // Execution time of the SBOM tasks, summed over all projects
+            def taskNanos = new ConcurrentHashMap<String, Long>()
+            allprojects {
+                tasks.matching { it.name in ['cyclonedxDirectBom', 'cyclonedxBom'] }.configureEach { task ->
+                    long start = 0
+                    task.doFirst { start = System.nanoTime() }
+                    task.doLast { taskNanos.merge(task.name, System.nanoTime() - start, { a, b -> a + b }) }
+                }
+            }
+
+            tasks.register('recordMetrics') {
+                def metricsFile = file('${metricsPath}')
+                mustRunAfter(allprojects.collect { it.tasks.matching { it.name.startsWith('cyclonedx') } })
+                doLast {
+                    def metrics = new Properties()
+                    taskNanos.each { name, nanos ->
+                        metrics.setProperty(name + 'Millis', String.valueOf(nanos.intdiv(1000000)))
+                    }
+                    def peak = ManagementFactory.memoryPoolMXBeans
+                        .findAll { it.type == MemoryType.HEAP }
+                        .sum { it.peakUsage.used }
+                    metrics.setProperty('peakHeapMegabytes', String.valueOf(peak.intdiv(1024 * 1024)))
+                    metricsFile.withOutputStream { metrics.store(it, null) }
+                }
+            }
+            """.stripIndent()
+    }
+
+    private String subprojectBuildScript(int index) {
+        def dependencies = new StringBuilder()
+        for (int child = index * fanOut + 1; child <= index * fanOut + fanOut && child < subprojects; child++) {
+            dependencies << "    implementation project(':module-${child}')\n"
+        }
+        for (int module : firstLayerModules(index)) {
+            dependencies << "    implementation '${GROUP}:lib-${module}:1.0.0'\n"
+        }
+        return "dependencies {\n${dependencies}}\n"
+    }
+
+    private List<Integer> firstLayerModules(int index) {
+        def layer = layer(0)
+        if (layer.isEmpty()) {
+            return []
+        }
+        return (0..<Math.min(fanOut, layer.size())).collect { layer[(index + it) % layer.size()] }.unique()
+    }
+
+    private List<Integer> layer(int layerIndex) {
+        return (0..<externalModules).findAll { it % depth == layerIndex }
+    }
+
+    private void writeModule(File repository, int module) {
+        def name = "lib-${module}"
+        def dir = new File(repository, "${GROUP.replace('.', '/')}/${name}/1.0.0")
+        dir.mkdirs()
+
+        def dependencies = new StringBuilder()
+        def next = layer(module % depth + 1)
+        if (!next.isEmpty()) {
+            def targets = (0..<Math.min(fanOut, next.size())).collect { next[(module + it) % next.size()] }.unique()
+            for (int target : targets) {
+                dependencies << """
+                    <dependency>
+                      <groupId>${GROUP}</groupId>
+                      <artifactId>lib-${target}</artifactId>
+                      <version>1.0.0</version>
+                    </dependency>"""
+            }
+        }
+        new File(dir, "${name}-1.0.0.pom").text = """\
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+              <modelVersion>4.0.0</modelVersion>
+              <groupId>${GROUP}</groupId>
+              <artifactId>${name}</artifactId>
+              <version>1.0.0</version>
+              <description>Synthetic module ${module}</description>
+              <licenses>
+                <license>
+                  <name>Apache-2.0</name>
+                  <url>https://www.apache.org/licenses/LICENSE-2.0.txt</url>
+                </license>
+              </licenses>
+              <dependencies>${dependencies}
+              </dependencies>
+            </project>
+            """.stripIndent()
+        writeJar(new File(dir, "${name}-1.0.0.jar"), module)
+    }
+
+    /**
+     * Writes a jar with a few kilobytes of content that differs between modules, so every artifact gets hashed.
+     */
+    private static void writeJar(File file, int module) {
+        def manifest = new Manifest()
+        manifest.mainAttributes.put(Attributes.Name.MANIFEST_VERSION, "1.0")
+        def content = new byte[4096]
+        new Random(module).nextBytes(content)
+        new JarOutputStream(new FileOutputStream(file), manifest).withCloseable { jar ->
+            jar.putNextEntry(new JarEntry("data.bin"))
+            jar.write(content)
+            jar.closeEntry()
+        }
+    }
+}
@@ -285,4 +285,177 @@ class CacheInvalidationSpec extends Specification {
         "cyclonedxDirectBom" | _
         javaVersion = JavaVersion.current()
     }
+
+    def "only rendering should re-run when a rendering option changes"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories { mavenCentral() }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation 'commons-io:commons-io:2.18.0'
+            }
+        """.stripIndent(), "rootProject.name = 'cache-test'")
+
+        when: "first run"
+        def result1 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result1.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.SUCCESS
+        result1.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+
+        when: "change the schema version and the project type"
+        new File(testDir, "build.gradle") << """
+            tasks.cyclonedxDirectBom {
+                schemaVersion = org.cyclonedx.Version.VERSION_15
+                projectType = org.cyclonedx.model.Component.Type.APPLICATION
+            }
+        """.stripIndent()
+        def result2 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName))
+            .withPluginClasspath()
+            .build()
+
+        then: "the graph is reused and only the BOM is rendered again"
+        result2.task(":cyclonedxDirectBomGraph").outcome in [TaskOutcome.UP_TO_DATE, TaskOutcome.FROM_CACHE]
+        result2.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        def jsonBom = new File(testDir, "build/reports/cyclonedx-direct/bom.json")
+        jsonBom.text.contains("\"specVersion\" : \"1.5\"")
+        jsonBom.text.contains("\"hashes\"")
+
+        where:
+        taskName             | _
+        "cyclonedxDirectBom" | _
+        javaVersion = JavaVersion.current()
+    }
+
+    def "graph should be UP-TO-DATE without looking up POMs when only the schema version changes"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories { mavenCentral() }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation 'commons-io:commons-io:2.18.0'
+            }
+        """.stripIndent(), "rootProject.name = 'cache-test'")
+        // POM lookups are only logged at debug level
+        def arguments = TestUtils.arguments(taskName).collect { it == "--info" ? "--debug" : it } as String[]
+
+        when: "first run"
+        def result1 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result1.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.SUCCESS
+        result1.output.contains("CycloneDX: found pom file for component")
+
+        when: "change only the schema version"
+        new File(testDir, "build.gradle") << """
+            tasks.cyclonedxDirectBom {
+                schemaVersion = org.cyclonedx.Version.VERSION_15
+            }
+        """.stripIndent()
+        def result2 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+
+        then: "the up-to-date check of the graph does not resolve any metadata"
+        result2.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.UP_TO_DATE
+        result2.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        !result2.output.contains("CycloneDX: found pom file for component")
+
+        where:
+        taskName             | _
+        "cyclonedxDirectBom" | _
+        javaVersion = JavaVersion.current()
+    }
+
+    def "tasks with incomplete metadata should neither be UP-TO-DATE nor cached"() {
+        given: "a file repository, whose POMs Gradle does not copy to its module cache"
+        String localRepoUri = TestUtils.duplicateRepo("local")
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                maven { url '$localRepoUri' }
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation 'com.test:componenta:1.0.0'
+            }
+            tasks.cyclonedxDirectBom {
+                offlineMetadataResolution = true
+            }
+        """.stripIndent(), """
+            rootProject.name = 'cache-test'
+            buildCache {
+                local {
+                    directory = new File(rootDir, 'build-cache')
+                }
+            }
+        """.stripIndent())
+        def arguments = TestUtils.arguments(taskName, "--build-cache")
+
+        when: "first run"
+        def result1 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+
+        then: "the components are marked as not cached"
+        result1.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.SUCCESS
+        result1.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        new File(testDir, "build/reports/cyclonedx-direct/bom.json").text.contains("not-cached")
+
+        when: "second run without changes"
+        def result2 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+
+        then: "both tasks resolve the metadata again"
+        result2.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.SUCCESS
+        result2.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+
+        when: "third run after cleaning the outputs"
+        new File(testDir, "build").deleteDir()
+        def result3 = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(arguments)
+            .withPluginClasspath()
+            .build()
+
+        then: "nothing was stored in the build cache"
+        result3.task(":cyclonedxDirectBomGraph").outcome == TaskOutcome.SUCCESS
+        result3.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+
+        where:
+        taskName             | _
+        "cyclonedxDirectBom" | _
+        javaVersion = JavaVersion.current()
+    }
 }
@@ -594,6 +594,54 @@ class DependencyResolutionSpec extends Specification {
         javaVersion = JavaVersion.current()
     }
 
+    def "pipelined metadata resolution should produce the same bom as sequential resolution"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                mavenCentral()
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation("org.hibernate:hibernate-core:5.6.15.Final")
+                testImplementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.8.11")
+            }
+            tasks.withType(org.cyclonedx.gradle.BaseCyclonedxTask).configureEach {
+                reproducible = true
+            }
+            tasks.named('cyclonedxDirectBom') {
+                metadataResolutionThreads = (findProperty('metadataThreads') ?: '1') as Integer
+            }""", "rootProject.name = 'hello-world'")
+        File jsonBom = new File(testDir, reportLocation + "/bom.json")
+
+        when:
+        GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName, "-PmetadataThreads=1"))
+            .withPluginClasspath()
+            .build()
+        String sequentialJson = jsonBom.text
+        def result = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName, "-PmetadataThreads=4", "--rerun-tasks"))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        assert jsonBom.text == sequentialJson
+
+        where:
+        taskName             | reportLocation
+        "cyclonedxDirectBom" | "build/reports/cyclonedx-direct"
+        "cyclonedxBom"       | "build/reports/cyclonedx"
+        javaVersion = JavaVersion.current()
+    }
+
     private static def loadJsonBom(File file) {
         return new JsonSlurper().parse(file)
     }
@@ -570,6 +570,105 @@ class PluginConfigurationSpec extends Specification {
         javaVersion = JavaVersion.current()
     }
 
+    def "reproducible mode should produce identical boms for identical inputs"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                mavenCentral()
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation group: 'com.fasterxml.jackson.datatype', name: 'jackson-datatype-jsr310', version:'2.8.11'
+            }
+            tasks.withType(org.cyclonedx.gradle.BaseCyclonedxTask).configureEach {
+                reproducible = true
+            }""", "rootProject.name = 'hello-world'")
+        File jsonBom = new File(testDir, reportLocation + "/bom.json")
+        File xmlBom = new File(testDir, reportLocation + "/bom.xml")
+
+        when:
+        GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName))
+            .withPluginClasspath()
+            .build()
+        String firstJson = jsonBom.text
+        String firstXml = xmlBom.text
+        def result = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName, "--rerun-tasks"))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        assert jsonBom.text == firstJson
+        assert xmlBom.text == firstXml
+        Bom bom = new ObjectMapper().readValue(jsonBom, Bom.class)
+        assert bom.serialNumber.startsWith("urn:uuid:")
+        assert bom.metadata.timestamp == null
+
+        where:
+        taskName             | reportLocation
+        "cyclonedxDirectBom" | "build/reports/cyclonedx-direct"
+        "cyclonedxBom"       | "build/reports/cyclonedx"
+        javaVersion = JavaVersion.current()
+    }
+
+    def "should write metrics report when metricsOutput is set"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                mavenCentral()
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            dependencies {
+                implementation group: 'com.fasterxml.jackson.datatype', name: 'jackson-datatype-jsr310', version:'2.8.11'
+            }
+            tasks.cyclonedxDirectBom {
+                metricsOutput = layout.buildDirectory.file('reports/cyclonedx-direct/metrics.json')
+            }
+            tasks.cyclonedxBom {
+                metricsOutput = layout.buildDirectory.file('reports/cyclonedx/metrics.json')
+            }""", "rootProject.name = 'hello-world'")
+
+        when:
+        def result = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments("cyclonedxBom"))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result.task(":cyclonedxBom").outcome == TaskOutcome.SUCCESS
+        def directMetrics = new ObjectMapper().readTree(new File(testDir, "build/reports/cyclonedx-direct/metrics.json"))
+        directMetrics.get("task").asText() == ":cyclonedxDirectBom"
+        directMetrics.get("phases").has("resolveGraph")
+        directMetrics.get("phases").has("traverseGraph")
+        directMetrics.get("phases").has("hashArtifacts")
+        directMetrics.get("phases").has("serializeJson")
+        directMetrics.get("phases").has("validateXml")
+        directMetrics.get("counters").get("graph.nodes").asLong() > 0
+        directMetrics.get("counters").get("hashing.bytes").asLong() > 0
+        def aggregateMetrics = new ObjectMapper().readTree(new File(testDir, "build/reports/cyclonedx/metrics.json"))
+        aggregateMetrics.get("phases").has("parseInputBom")
+        aggregateMetrics.get("phases").has("mergeBoms")
+
+        where:
+        taskName = "cyclonedxBom"
+        javaVersion = JavaVersion.current()
+    }
+
     def "should skip configurations with regex"() {
         given:
         File testDir = TestUtils.createFromString("""
@@ -652,6 +751,49 @@ class PluginConfigurationSpec extends Specification {
         javaVersion = JavaVersion.current()
     }
 
+    def "should prune skipped components with regex"() {
+        given:
+        File testDir = TestUtils.createFromString("""
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                mavenCentral()
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            tasks.cyclonedxDirectBom {
+                skipComponents = ['org\\\\.apache\\\\.logging\\\\.log4j:log4j-core:.*']
+            }
+            dependencies {
+                implementation group: 'org.apache.logging.log4j', name: 'log4j-core', version:'2.15.0'
+                implementation group: 'com.google.code.gson', name: 'gson', version:'2.8.9'
+            }""", "rootProject.name = 'hello-world'")
+
+        when:
+        def result = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments(taskName))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        result.task(":" + taskName).outcome == TaskOutcome.SUCCESS
+        File jsonBom = new File(testDir, reportLocation + "/bom.json")
+        Bom bom = new ObjectMapper().readValue(jsonBom, Bom.class)
+
+        assert bom.getComponents().find(c -> c.name == 'log4j-core') == null
+        assert bom.getComponents().find(c -> c.name == 'log4j-api') == null
+        assert bom.getComponents().find(c -> c.name == 'gson') != null
+
+        where:
+        taskName             | reportLocation
+        "cyclonedxDirectBom" | "build/reports/cyclonedx-direct"
+        "cyclonedxBom"       | "build/reports/cyclonedx"
+        javaVersion = JavaVersion.current()
+    }
+
     def "should use 1.6 is default schema version"() {
         given:
         File testDir = TestUtils.createFromString("""
@@ -741,6 +883,71 @@ class PluginConfigurationSpec extends Specification {
         javaVersion = JavaVersion.current()
     }
 
+    def "should share the buildscript graph between projects without mixing up their roots"() {
+        given:
+        String subprojectBuild = """
+            buildscript {
+                repositories {
+                    mavenCentral()
+                }
+                dependencies {
+                    classpath 'org.apache.commons:commons-lang3:3.12.0'
+                }
+            }
+            plugins {
+                id 'org.cyclonedx.bom'
+                id 'java'
+            }
+            repositories {
+                mavenCentral()
+            }
+            group = 'com.example'
+            version = '1.0.0'
+            tasks.cyclonedxDirectBom {
+                includeBuildEnvironment = true
+                metricsOutput = layout.buildDirectory.file('reports/cyclonedx-direct/metrics.json')
+            }"""
+        File testDir = TestUtils.createFromString("", """
+            rootProject.name = 'hello-world'
+            include 'app-a', 'app-b'""")
+        ["app-a", "app-b"].each { name ->
+            File projectDir = new File(testDir, name)
+            projectDir.mkdirs()
+            new File(projectDir, "build.gradle").text = subprojectBuild
+        }
+
+        when:
+        def result = GradleRunner.create()
+            .withProjectDir(testDir)
+            .withArguments(TestUtils.arguments("cyclonedxDirectBom"))
+            .withPluginClasspath()
+            .build()
+
+        then:
+        long hits = 0
+        ["app-a", "app-b"].each { name ->
+            assert result.task(":" + name + ":cyclonedxDirectBom").outcome == TaskOutcome.SUCCESS
+            Bom bom = new ObjectMapper().readValue(new File(testDir, name + "/build/reports/cyclonedx-direct/bom.json"), Bom.class)
+            String rootRef = bom.getMetadata().getComponent().getBomRef()
+            Set<String> refs = bom.getComponents().collect { it.getBomRef() } as Set
+            refs.add(rootRef)
+            String otherProject = name == "app-a" ? "app-b" : "app-a"
+
+            assert bom.getComponents().find(c -> c.name == 'commons-lang3') != null
+            bom.getDependencies().each { dependency ->
+                assert refs.contains(dependency.getRef())
+                dependency.getDependencies().each { assert refs.contains(it.getRef()) }
+            }
+            assert !refs.any { it.contains(otherProject) }
+            def metrics = new ObjectMapper().readTree(new File(testDir, name + "/build/reports/cyclonedx-direct/metrics.json"))
+            hits += metrics.get("counters").path("sharedGraphs.hits").asLong()
+        }
+        assert hits > 0
+
+        where:
+        javaVersion = JavaVersion.current()
+    }
+
     def "should not include build environment dependencies by default"() {
         given:
         File testDir = TestUtils.createFromString("""
@@ -0,0 +1,103 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.cyclonedx.gradle.model.ConfigurationScope;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.cyclonedx.gradle.utils.DependencyUtils;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.junit.jupiter.api.Test;
+
+class DependencyGraphTraverserTest {
+
+    @Test
+    void testShouldShareGraphOfTestConfigurationWithoutChangingIt() {
+        final ResolvedComponentResult root = node("app", node("a", node("b")), node("c"));
+        final ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> graphs = new ConcurrentHashMap<>();
+        final SbomMetrics sharedMetrics = new SbomMetrics();
+        final SbomMetrics separateMetrics = new SbomMetrics();
+
+        final Map<SbomComponentId, SbomComponent> shared = traverse(root, sharedMetrics, graphs, graphs);
+        final Map<SbomComponentId, SbomComponent> separate =
+                traverse(root, separateMetrics, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+        assertEquals(separate, shared);
+        assertEquals(1, sharedMetrics.getCount("sharedGraphs.hits"));
+        assertEquals(1, sharedMetrics.getCount("sharedGraphs.misses"));
+        assertEquals(0, separateMetrics.getCount("sharedGraphs.hits"));
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+        scopes.intern("app", "runtimeClasspath");
+        scopes.intern("app", "testRuntimeClasspath");
+        assertEquals(
+                new LinkedHashSet<>(Arrays.asList(
+                        new ConfigurationScope("app", "runtimeClasspath"),
+                        new ConfigurationScope("app", "testRuntimeClasspath"))),
+                shared.get(new SbomComponentId("com.example", "b", "1.0.0", "pom", null))
+                        .getInScopeConfigurations(scopes));
+    }
+
+    /**
+     * Traverses the runtime and the test runtime classpath of a project resolving the same graph, and merges them as
+     * the graph task does.
+     */
+    private static Map<SbomComponentId, SbomComponent> traverse(
+            final ResolvedComponentResult root,
+            final SbomMetrics metrics,
+            final ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> runtimeGraphs,
+            final ConcurrentMap<String, DependencyGraphTraverser.SharedGraph> testGraphs) {
+        final DependencyGraphTraverser traverser = new DependencyGraphTraverser(
+                new HashMap<>(),
+                new MavenProjectLookup(FakeResolution.project(), metrics),
+                new ConfigurationScopes(),
+                new SbomComponentIdPool(),
+                false,
+                false,
+                new MetadataResolutionPolicy(
+                        null,
+                        MetadataResolutionTier.FULL,
+                        MetadataResolutionTier.FULL,
+                        Collections.singletonList("test.*")),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                null,
+                MetadataDeadline.unlimited(),
+                metrics);
+        return DependencyUtils.mergeGraphs(
+                traverser.traverseSharedGraph(root, "app", "runtimeClasspath", runtimeGraphs),
+                traverser.traverseSharedGraph(root, "app", "testRuntimeClasspath", testGraphs));
+    }
+
+    private static FakeResolution.Component node(final String name, final FakeResolution.Component... dependencies) {
+        return FakeResolution.component("com.example", name, "1.0.0").dependsOn(dependencies);
+    }
+}
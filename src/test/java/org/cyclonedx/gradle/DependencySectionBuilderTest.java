@@ -0,0 +1,101 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.github.packageurl.MalformedPackageURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.model.Dependency;
+import org.junit.jupiter.api.Test;
+
+class DependencySectionBuilderTest {
+
+    private final SbomComponentIdPool ids = new SbomComponentIdPool();
+    private final SbomComponentId a = ids.intern("a", "a", "1", null, null);
+    private final SbomComponentId b = ids.intern("b", "b", "1", null, null);
+    private final SbomComponentId c = ids.intern("c", "c", "1", null, null);
+
+    @Test
+    void testShouldSortEntriesAndEdgesByRef() throws MalformedPackageURLException {
+        final DependencySectionBuilder builder = new DependencySectionBuilder();
+        builder.add(c, Arrays.asList(b, a, b));
+        builder.add(a, Collections.emptyList());
+        builder.add(b, Collections.singletonList(a));
+
+        final List<Dependency> dependencies = builder.build();
+
+        assertEquals(refs(a, b, c), refs(dependencies));
+        assertNull(dependencies.get(0).getDependencies());
+        assertEquals(refs(a), refs(dependencies.get(1).getDependencies()));
+        assertEquals(refs(a, b), refs(dependencies.get(2).getDependencies()));
+        assertSame(
+                dependencies.get(1).getDependencies().get(0),
+                dependencies.get(2).getDependencies().get(0));
+    }
+
+    @Test
+    void testShouldMergeEdgesOfRepeatedComponent() throws MalformedPackageURLException {
+        final DependencySectionBuilder builder = new DependencySectionBuilder();
+        builder.add(a, Collections.singletonList(c));
+        builder.add(a, Arrays.asList(b, c));
+
+        final List<Dependency> dependencies = builder.build();
+
+        assertEquals(refs(a), refs(dependencies));
+        assertEquals(refs(b, c), refs(dependencies.get(0).getDependencies()));
+    }
+
+    @Test
+    void testShouldNumberEqualIdsWhichAreNotInternedOnce() throws MalformedPackageURLException {
+        final DependencySectionBuilder builder = new DependencySectionBuilder();
+        builder.add(a, Collections.singletonList(b));
+        builder.add(
+                new SbomComponentId("a", "a", "1", null, null),
+                Arrays.asList(c, new SbomComponentId("b", "b", "1", null, null)));
+
+        final List<Dependency> dependencies = builder.build();
+
+        assertEquals(refs(a), refs(dependencies));
+        assertEquals(refs(b, c), refs(dependencies.get(0).getDependencies()));
+    }
+
+    private static List<String> refs(final SbomComponentId... ids) throws MalformedPackageURLException {
+        final List<String> refs = new ArrayList<>();
+        for (final SbomComponentId id : ids) {
+            refs.add(id.getPackageUrl());
+        }
+        return refs;
+    }
+
+    private static List<String> refs(final List<Dependency> dependencies) {
+        final List<String> refs = new ArrayList<>();
+        for (final Dependency dependency : dependencies) {
+            refs.add(dependency.getRef());
+        }
+        return refs;
+    }
+}
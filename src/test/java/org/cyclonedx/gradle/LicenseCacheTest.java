@@ -0,0 +1,63 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.cyclonedx.model.LicenseChoice;
+import org.junit.jupiter.api.Test;
+
+class LicenseCacheTest {
+
+    @Test
+    void testShouldShareResolvedLicenseOfNormalizedNames() {
+        final LicenseCache cache = new LicenseCache();
+
+        final LicenseChoice resolved = cache.resolve("Apache License, Version 2.0", false);
+        assertNotNull(resolved);
+        assertEquals("Apache-2.0", resolved.getLicenses().get(0).getId());
+        assertSame(resolved, cache.resolve("  Apache License,\n    Version 2.0 ", false));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testShouldCacheUnresolvedLicenses() {
+        final LicenseCache cache = new LicenseCache();
+
+        assertNull(cache.resolve("Proprietary license of Example Corp", false));
+        assertNull(cache.resolve("Proprietary license of Example Corp", false));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testShouldCacheLicenseTextSeparately() {
+        final LicenseCache cache = new LicenseCache();
+
+        final LicenseChoice withoutText = cache.resolve("http://www.apache.org/licenses/LICENSE-2.0.txt", false);
+        final LicenseChoice withText = cache.resolve("http://www.apache.org/licenses/LICENSE-2.0.txt", true);
+        assertNotNull(withoutText);
+        assertNotNull(withText);
+        assertNotSame(withoutText, withText);
+        assertSame(withText, cache.resolve("http://www.apache.org/licenses/LICENSE-2.0.txt", true));
+    }
+}
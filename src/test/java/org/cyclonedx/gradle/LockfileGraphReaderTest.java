@@ -0,0 +1,172 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomComponentIdPool;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LockfileGraphReaderTest {
+
+    private static final String LOCKFILE = String.join(
+            "\n",
+            "# This is a Gradle generated file for dependency locking.",
+            "com.example:app:1.0=compileClasspath,runtimeClasspath",
+            "com.example:lib:2.0=runtimeClasspath",
+            "com.example:orphan:3.0=runtimeClasspath",
+            "empty=annotationProcessor",
+            "");
+
+    private File moduleCache;
+    private File lockfile;
+    private SbomComponentIdPool componentIds;
+    private SbomComponentId rootId;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        moduleCache = Files.createTempDirectory("modules-2").toFile();
+        lockfile = File.createTempFile("gradle", ".lockfile");
+        Files.write(lockfile.toPath(), LOCKFILE.getBytes(StandardCharsets.UTF_8));
+        componentIds = new SbomComponentIdPool();
+        rootId = componentIds.intern("com.example", "project", "1.0", null, ":");
+        cacheModule(
+                "app",
+                "1.0",
+                "<dependencies>"
+                        + dependency("lib", "")
+                        + dependency("junit", "<scope>test</scope>")
+                        + "</dependencies>");
+        cacheModule("lib", "2.0", "<licenses><license><name>Apache-2.0</name></license></licenses>");
+    }
+
+    @Test
+    void testShouldParseLockfile() {
+        final Map<String, List<LockfileGraphReader.LockedModule>> locks = LockfileGraphReader.parse(lockfile);
+
+        assertEquals(
+                Arrays.asList("compileClasspath", "runtimeClasspath", "annotationProcessor"),
+                new ArrayList<>(locks.keySet()));
+        assertEquals("[com.example:app:1.0]", locks.get("compileClasspath").toString());
+        assertEquals(3, locks.get("runtimeClasspath").size());
+        assertTrue(locks.get("annotationProcessor").isEmpty());
+    }
+
+    @Test
+    void testShouldConnectModulesByCachedPoms() {
+        final Map<SbomComponentId, SbomComponent> graph = readGraph(Collections.emptyList());
+
+        assertEquals(4, graph.size());
+        assertEquals(ids("app:jar", "orphan:pom"), graph.get(rootId).getDependencyComponents());
+        final SbomComponent app = component(graph, "app");
+        assertEquals(ids("lib:jar"), app.getDependencyComponents());
+        assertTrue(app.getArtifactFile().isPresent());
+        final SbomComponent lib = component(graph, "lib");
+        assertEquals("Apache-2.0", lib.getLicenses().get(0).getName());
+        assertFalse(lib.getMetadataEnrichment().isPresent());
+        final SbomComponent orphan = component(graph, "orphan");
+        assertEquals(Optional.of(MetadataEnrichment.NOT_CACHED), orphan.getMetadataEnrichment());
+        assertFalse(orphan.getArtifactFile().isPresent());
+    }
+
+    @Test
+    void testShouldPruneSkippedModulesAndTheirDependencies() {
+        final Map<SbomComponentId, SbomComponent> graph = readGraph(Collections.singletonList("com.example:app:.*"));
+
+        assertEquals(2, graph.size());
+        assertEquals(ids("orphan:pom"), graph.get(rootId).getDependencyComponents());
+    }
+
+    private Map<SbomComponentId, SbomComponent> readGraph(final List<String> skipComponents) {
+        final ModuleCacheProjectLookup lookup =
+                new ModuleCacheProjectLookup(FakeResolution.project(), moduleCache, new SbomMetrics());
+        final LockfileGraphReader reader = new LockfileGraphReader(
+                lookup,
+                new ConfigurationScopes(),
+                componentIds,
+                true,
+                Collections.emptyList(),
+                skipComponents,
+                new SbomMetrics());
+        return reader.readGraph(
+                rootId,
+                Collections.singleton("com.example:app"),
+                LockfileGraphReader.parse(lockfile).get("runtimeClasspath"),
+                "project",
+                "runtimeClasspath");
+    }
+
+    private Set<SbomComponentId> ids(final String... modules) {
+        return Arrays.stream(modules)
+                .map(module -> {
+                    final String[] parts = module.split(":");
+                    final String version = parts[0].equals("app") ? "1.0" : parts[0].equals("lib") ? "2.0" : "3.0";
+                    return componentIds.intern("com.example", parts[0], version, parts[1], null);
+                })
+                .collect(Collectors.toSet());
+    }
+
+    private static SbomComponent component(final Map<SbomComponentId, SbomComponent> graph, final String module) {
+        final SbomComponent component = graph.values().stream()
+                .filter(candidate -> candidate.getId().getName().equals(module))
+                .findFirst()
+                .orElse(null);
+        assertNotNull(component);
+        return component;
+    }
+
+    private static String dependency(final String module, final String extra) {
+        return "<dependency><groupId>com.example</groupId><artifactId>" + module
+                + "</artifactId><version>1</version>" + extra + "</dependency>";
+    }
+
+    private void cacheModule(final String module, final String version, final String content) throws IOException {
+        final File pomDir = new File(moduleCache, "com.example/" + module + "/" + version + "/0123456789abcdef");
+        final File jarDir = new File(moduleCache, "com.example/" + module + "/" + version + "/fedcba9876543210");
+        Files.createDirectories(pomDir.toPath());
+        Files.createDirectories(jarDir.toPath());
+        final String pom = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>"
+                + "<groupId>com.example</groupId><artifactId>" + module + "</artifactId><version>" + version
+                + "</version>" + content + "</project>";
+        Files.write(new File(pomDir, module + "-" + version + ".pom").toPath(), pom.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(jarDir, module + "-" + version + "-sources.jar").toPath(), new byte[0]);
+        Files.write(new File(jarDir, module + "-" + version + ".jar").toPath(), new byte[0]);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class MavenProjectLookupTest {
+
+    @Test
+    void testShouldLookUpMissingPomOnce() {
+        final CountingLookup lookup = new CountingLookup(null);
+        final ResolvedComponentResult component = component();
+
+        assertNull(lookup.getResolvedMavenProject(component));
+        assertNull(lookup.getResolvedMavenProject(component));
+
+        assertEquals(1, lookup.calls.get());
+        assertEquals(1, lookup.metrics.getCount("pomLookup.hits"));
+        assertEquals(1, lookup.metrics.getCount("pomLookup.misses"));
+    }
+
+    @Test
+    void testShouldLookUpFailingPomOnce() {
+        final CountingLookup lookup = new CountingLookup(new IllegalStateException("repository unavailable"));
+        final ResolvedComponentResult component = component();
+
+        assertNull(lookup.getResolvedMavenProject(component));
+        assertNull(lookup.getResolvedMavenProject(component));
+
+        assertEquals(1, lookup.calls.get());
+        assertEquals(1, lookup.metrics.getCount("pomLookup.failures"));
+    }
+
+    @Test
+    void testShouldShareLookupInFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountingLookup lookup = new CountingLookup(null) {
+            @Override
+            @Nullable File buildMavenProject(final ComponentIdentifier id) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.buildMavenProject(id);
+            }
+        };
+        final ResolvedComponentResult component = component();
+
+        final Thread first = new Thread(() -> lookup.getResolvedMavenProject(component));
+        first.start();
+        started.await();
+        final Thread second = new Thread(() -> lookup.getResolvedMavenProject(component));
+        second.start();
+        while (second.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(1, lookup.calls.get());
+    }
+
+    private static ResolvedComponentResult component() {
+        return FakeResolution.component("com.example", "lib", "1.0.0");
+    }
+
+    private static class CountingLookup extends MavenProjectLookup {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final SbomMetrics metrics;
+        private final @Nullable RuntimeException failure;
+
+        CountingLookup(@Nullable final RuntimeException failure) {
+            this(failure, new SbomMetrics());
+        }
+
+        private CountingLookup(@Nullable final RuntimeException failure, final SbomMetrics metrics) {
+            super(FakeResolution.project(), metrics);
+            this.metrics = metrics;
+            this.failure = failure;
+        }
+
+        @Override
+        @Nullable File buildMavenProject(final ComponentIdentifier id) {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class MetadataDeadlineTest {
+
+    @Test
+    void testUnlimitedDeadlineNeverExpires() {
+        final MetadataDeadline deadline = MetadataDeadline.unlimited();
+        final long start = deadline.startComponent();
+
+        assertFalse(deadline.isExpired());
+        assertFalse(deadline.isOverdue(start));
+        assertEquals(Long.MAX_VALUE, deadline.remainingNanos(start));
+    }
+
+    @Test
+    void testBudgetStartsWithFirstComponent() {
+        final MetadataDeadline deadline = new MetadataDeadline(Duration.ZERO, null);
+
+        assertFalse(deadline.isExpired());
+        final long start = deadline.startComponent();
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingNanos(start));
+    }
+
+    @Test
+    void testComponentDeadlineDoesNotEndBudget() {
+        final MetadataDeadline deadline = new MetadataDeadline(null, Duration.ZERO);
+        final long start = deadline.startComponent();
+
+        assertFalse(deadline.isExpired());
+        assertEquals(0, deadline.remainingNanos(start));
+    }
+
+    @Test
+    void testRemainingTimeIsBoundedByBudget() {
+        final MetadataDeadline deadline = new MetadataDeadline(Duration.ofMinutes(1), Duration.ofDays(1));
+        final long start = deadline.startComponent();
+
+        assertTrue(deadline.remainingNanos(start) <= Duration.ofMinutes(1).toNanos());
+        assertFalse(deadline.isOverdue(start));
+    }
+
+    @Test
+    void testExpiredDeadlineStaysExpired() {
+        final MetadataDeadline deadline = new MetadataDeadline(Duration.ofDays(1), null);
+        final long start = deadline.startComponent();
+
+        deadline.expire();
+
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.remainingNanos(start));
+    }
+}
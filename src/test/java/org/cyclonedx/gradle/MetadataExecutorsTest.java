@@ -0,0 +1,123 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.GradleException;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class MetadataExecutorsTest {
+
+    @Test
+    void testShouldLimitConcurrencyOfVirtualThreads() throws Exception {
+        assertMaxConcurrency(MetadataExecutors.create(3, true), 3);
+    }
+
+    @Test
+    void testShouldLimitConcurrencyOfPlatformThreads() throws Exception {
+        assertMaxConcurrency(MetadataExecutors.create(2, false), 2);
+    }
+
+    @Test
+    void testShouldRunOnVirtualThreads() throws Exception {
+        assumeTrue(
+                Arrays.stream(Thread.class.getMethods()).anyMatch(method -> method.getName().equals("isVirtual")),
+                "virtual threads require Java 21");
+        final ExecutorService executor = MetadataExecutors.create(2, true);
+        try {
+            final Future<Object> isVirtual = executor.submit(
+                    () -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            assertEquals(Boolean.TRUE, isVirtual.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShouldRethrowFailureOfPooledReadOnCallingThread() {
+        final ExecutorService executor = MetadataExecutors.create(4, false);
+        try {
+            final IllegalStateException failure = new IllegalStateException("An error occurred attempting to read POM");
+            final Future<@Nullable Object> read = executor.submit(() -> {
+                throw failure;
+            });
+
+            final IllegalStateException thrown =
+                    assertThrows(IllegalStateException.class, () -> MetadataExecutors.await(read, Long.MAX_VALUE));
+            assertSame(failure, thrown);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testShouldWrapCheckedFailureOfPooledRead() {
+        final ExecutorService executor = MetadataExecutors.create(4, false);
+        try {
+            final IOException failure = new IOException("broken jar");
+            final Future<@Nullable Object> read = executor.submit(() -> {
+                throw failure;
+            });
+
+            final GradleException thrown =
+                    assertThrows(GradleException.class, () -> MetadataExecutors.await(read, Long.MAX_VALUE));
+            assertSame(failure, thrown.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertMaxConcurrency(final ExecutorService executor, final int limit) throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(maxRunning.get() <= limit, "at most " + limit + " tasks at once, was " + maxRunning.get());
+    }
+}
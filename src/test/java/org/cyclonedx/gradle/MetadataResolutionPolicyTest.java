@@ -0,0 +1,61 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import org.cyclonedx.gradle.model.MetadataResolutionTier;
+import org.junit.jupiter.api.Test;
+
+class MetadataResolutionPolicyTest {
+
+    @Test
+    void testFullPolicyResolvesEveryComponent() {
+        final MetadataResolutionPolicy policy = MetadataResolutionPolicy.full();
+
+        assertEquals(MetadataResolutionTier.FULL, policy.tierOf("testRuntimeClasspath", 10));
+        assertFalse(policy.isTestConfiguration("testRuntimeClasspath"));
+    }
+
+    @Test
+    void testDeepComponentsGetTransitiveTier() {
+        final MetadataResolutionPolicy policy = new MetadataResolutionPolicy(
+                1, MetadataResolutionTier.EMBEDDED_POM, MetadataResolutionTier.FULL, Collections.emptyList());
+
+        assertEquals(MetadataResolutionTier.FULL, policy.tierOf("runtimeClasspath", 1));
+        assertEquals(MetadataResolutionTier.EMBEDDED_POM, policy.tierOf("runtimeClasspath", 2));
+    }
+
+    @Test
+    void testTestConfigurationsGetLowerOfBothTiers() {
+        final MetadataResolutionPolicy policy = new MetadataResolutionPolicy(
+                1,
+                MetadataResolutionTier.NONE,
+                MetadataResolutionTier.EMBEDDED_POM,
+                Collections.singletonList("^test.*"));
+
+        assertTrue(policy.isTestConfiguration("testRuntimeClasspath"));
+        assertEquals(MetadataResolutionTier.EMBEDDED_POM, policy.tierOf("testRuntimeClasspath", 1));
+        assertEquals(MetadataResolutionTier.NONE, policy.tierOf("testRuntimeClasspath", 2));
+        assertEquals(MetadataResolutionTier.FULL, policy.tierOf("runtimeClasspath", 1));
+    }
+}
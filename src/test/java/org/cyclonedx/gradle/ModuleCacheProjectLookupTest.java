@@ -0,0 +1,107 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.apache.maven.project.MavenProject;
+import org.cyclonedx.gradle.model.SbomMetrics;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ModuleCacheProjectLookupTest {
+
+    private File moduleCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        moduleCache = Files.createTempDirectory("modules-2").toFile();
+    }
+
+    @Test
+    void testShouldResolveLicensesOfCachedParent() throws IOException {
+        cachePom("com.example", "parent", "1.0", "<licenses><license><name>Apache-2.0</name></license></licenses>");
+        cachePom("com.example", "child", "1.0", parent("1.0"));
+        final SbomMetrics metrics = new SbomMetrics();
+
+        final MavenProject project = lookup(metrics).getResolvedMavenProject(component("child"));
+
+        assertNotNull(project);
+        assertEquals(1, project.getLicenses().size());
+        assertEquals("Apache-2.0", project.getLicenses().get(0).getName());
+        assertEquals(0, metrics.getCount("pomLookup.failures"));
+    }
+
+    @Test
+    void testShouldKeepPomWhenParentIsNotCached() throws IOException {
+        cachePom("com.example", "child", "1.0", parent("2.0"));
+        final SbomMetrics metrics = new SbomMetrics();
+
+        final MavenProject project = lookup(metrics).getResolvedMavenProject(component("child"));
+
+        assertNotNull(project);
+        assertTrue(project.getLicenses().isEmpty());
+        assertEquals(0, metrics.getCount("pomLookup.failures"));
+    }
+
+    @Test
+    void testShouldNotFindUncachedComponent() {
+        assertNull(lookup(new SbomMetrics()).getResolvedMavenProject(component("child")));
+    }
+
+    @Test
+    void testShouldNotResolveUncachedParent() {
+        final ModuleCacheModelResolver resolver = new ModuleCacheModelResolver(moduleCache);
+
+        assertThrows(UnresolvableModelException.class, () -> resolver.resolveModel("com.example", "parent", "1.0"));
+    }
+
+    private ModuleCacheProjectLookup lookup(final SbomMetrics metrics) {
+        return new ModuleCacheProjectLookup(FakeResolution.project(), moduleCache, metrics);
+    }
+
+    private static String parent(final String version) {
+        return "<parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>" + version
+                + "</version></parent>";
+    }
+
+    private void cachePom(final String group, final String module, final String version, final String content)
+            throws IOException {
+        final File dir = new File(moduleCache, group + "/" + module + "/" + version + "/0123456789abcdef");
+        Files.createDirectories(dir.toPath());
+        final String pom = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>"
+                + "<groupId>" + group + "</groupId><artifactId>" + module + "</artifactId><version>" + version
+                + "</version><packaging>pom</packaging>" + content + "</project>";
+        Files.write(new File(dir, module + "-" + version + ".pom").toPath(), pom.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResolvedComponentResult component(final String module) {
+        return FakeResolution.component("com.example", module, "1.0");
+    }
+}
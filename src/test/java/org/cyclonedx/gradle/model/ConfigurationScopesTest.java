@@ -0,0 +1,82 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationScopesTest {
+
+    @Test
+    void testShouldInternEachScopeOnce() {
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+
+        final int runtime = scopes.intern("app", "runtimeClasspath");
+        final int test = scopes.intern("app", "testRuntimeClasspath");
+
+        assertEquals(runtime, scopes.intern("app", "runtimeClasspath"));
+        assertEquals(test, scopes.intern("app", "testRuntimeClasspath"));
+        assertFalse(runtime == test);
+        final BitSet both = new BitSet();
+        both.set(runtime);
+        both.set(test);
+        assertEquals(
+                Arrays.asList(
+                        new ConfigurationScope("app", "runtimeClasspath"),
+                        new ConfigurationScope("app", "testRuntimeClasspath")),
+                scopes.resolve(both));
+    }
+
+    @Test
+    void testShouldClassifyByMask() {
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+        final BitSet testOnly = new BitSet();
+        testOnly.set(scopes.intern("app", "testRuntimeClasspath"));
+        final BitSet mixed = (BitSet) testOnly.clone();
+        mixed.set(scopes.intern("app", "runtimeClasspath"));
+
+        final BitSet nonTest = scopes.matching(scope -> !scope.getConfigName().matches("^test.*"));
+
+        assertFalse(testOnly.intersects(nonTest));
+        assertTrue(mixed.intersects(nonTest));
+    }
+
+    @Test
+    void testShouldResolveComponentScopesThroughTable() {
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+        final Set<ConfigurationScope> inScope = new HashSet<>(Arrays.asList(
+                new ConfigurationScope("app", "runtimeClasspath"),
+                new ConfigurationScope("app", "testRuntimeClasspath")));
+
+        final SbomComponent component = new SbomComponent.Builder()
+                .withId(new SbomComponentId("com.example", "lib", "1.0.0", "jar", null))
+                .withInScopeConfigurations(inScope, scopes)
+                .build();
+
+        assertEquals(2, component.getInScopeConfigurations().cardinality());
+        assertEquals(inScope, component.getInScopeConfigurations(scopes));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    void testShouldNotBeginEventWithoutRecording() {
+        assertNull(FlightRecorderEvents.begin("hashArtifacts", "guava.jar", 1024));
+    }
+
+    /**
+     * Tests run with Java 8 as well, so the recording is driven through reflection like the events themselves.
+     */
+    @Test
+    void testShouldRecordEventForTimedPhase() throws Exception {
+        final Class<?> recordingClass;
+        try {
+            recordingClass = Class.forName("jdk.jfr.Recording");
+        } catch (ClassNotFoundException e) {
+            assumeTrue(false, "Java Flight Recorder is not available");
+            return;
+        }
+        final Path file = Files.createTempFile("cyclonedx", ".jfr");
+        try {
+            final Object recording = recordingClass.getConstructor().newInstance();
+            recordingClass.getMethod("enable", String.class).invoke(recording, FlightRecorderEvents.EVENT_NAME);
+            recordingClass.getMethod("start").invoke(recording);
+            final SbomMetrics metrics = new SbomMetrics();
+            try (SbomMetrics.Timer ignored = metrics.time("hashArtifacts", "guava.jar", 1024)) {
+                metrics.increment("graph.nodes");
+            }
+            try (SbomMetrics.Timer ignored = metrics.time("buildBom")) {
+                metrics.increment("graph.nodes");
+            }
+            recordingClass.getMethod("stop").invoke(recording);
+            recordingClass.getMethod("dump", Path.class).invoke(recording, file);
+            recordingClass.getMethod("close").invoke(recording);
+
+            final List<String> events = new ArrayList<>();
+            final Class<?> recordedEventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            final List<?> recorded = (List<?>) Class.forName("jdk.jfr.consumer.RecordingFile")
+                    .getMethod("readAllEvents", Path.class)
+                    .invoke(null, file);
+            for (final Object event : recorded) {
+                final Object type = recordedEventClass.getMethod("getEventType").invoke(event);
+                if (FlightRecorderEvents.EVENT_NAME.equals(
+                        type.getClass().getMethod("getName").invoke(type))) {
+                    final Object phase = get(recordedEventClass, event, "phase");
+                    final Object subject = get(recordedEventClass, event, "subject");
+                    final Object bytes = get(recordedEventClass, event, "bytes");
+                    events.add(phase + " " + subject + " " + bytes);
+                }
+            }
+
+            assertEquals(2, events.size(), events.toString());
+            assertEquals("hashArtifacts guava.jar 1024", events.get(0));
+            assertEquals("buildBom null 0", events.get(1));
+            assertEquals(2, metrics.getCount("graph.nodes"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static Object get(final Class<?> recordedEventClass, final Object event, final String field)
+            throws Exception {
+        return recordedEventClass.getMethod("getValue", String.class).invoke(event, field);
+    }
+}
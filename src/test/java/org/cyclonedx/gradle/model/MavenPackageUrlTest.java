@@ -0,0 +1,82 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.packageurl.PackageURL;
+import java.util.TreeMap;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+class MavenPackageUrlTest {
+
+    private static final String[][] COORDINATES = {
+        {"com.google.guava", "guava", "33.0.0-jre", null, "jar"},
+        {"org.apache.commons", "commons-lang3", "3.14.0", null, "pom"},
+        {"com.example", "app", "1.0.0", ":", null},
+        {"com.example", "lib", "1.0.0-SNAPSHOT", ":libs:lib-a", null},
+        {"com.example", "lib", "1.0.0", ":lib", "jar"},
+        {"unspecified", "lib", "unspecified", ":lib", null},
+        {"org.example", "with_underscore~tilde", "1.0", null, "aar"},
+        {"org.example", "lib", "1.0.0", null, "tar.gz"},
+        // not on the fast path
+        {"org.example", "lib", "1.0+build.5", null, "jar"},
+        {"org.example", "lib", "1.0.0", ":with space", null},
+        {"org.example", "ünïcode", "1.0.0", null, "jar"},
+        {"org.example", "lib", "[1.0,2.0)", null, "jar"},
+        {"org.example", "lib", "1.0.0", ":a/b", "jar"},
+    };
+
+    @Test
+    void testShouldEncodeLikePackageUrl() throws Exception {
+        for (final String[] coordinates : COORDINATES) {
+            assertEquals(
+                    packageUrl(coordinates[0], coordinates[1], coordinates[2], coordinates[3], coordinates[4]),
+                    MavenPackageUrl.canonicalize(
+                            coordinates[0], coordinates[1], coordinates[2], coordinates[3], coordinates[4]),
+                    String.join(",", String.valueOf(coordinates[3]), coordinates[1], coordinates[2]));
+        }
+    }
+
+    @Test
+    void testShouldEncodeComponentIdLikePackageUrl() throws Exception {
+        final SbomComponentId id = new SbomComponentId("", "lib", "", "jar", ":lib");
+
+        assertEquals(packageUrl("unspecified", "lib", "unspecified", ":lib", "jar"), id.getPackageUrl());
+    }
+
+    private static String packageUrl(
+            final String namespace,
+            final String name,
+            final String version,
+            @Nullable final String projectPath,
+            @Nullable final String type)
+            throws Exception {
+        final TreeMap<String, String> qualifiers = new TreeMap<>();
+        if (projectPath != null) {
+            qualifiers.put("project_path", projectPath);
+        }
+        if (type != null) {
+            qualifiers.put("type", type);
+        }
+        return new PackageURL(PackageURL.StandardTypes.MAVEN, namespace, name, version, qualifiers, null)
+                .canonicalize();
+    }
+}
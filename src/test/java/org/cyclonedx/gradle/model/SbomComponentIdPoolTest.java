@@ -0,0 +1,61 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+class SbomComponentIdPoolTest {
+
+    @Test
+    void testShouldShareInstanceOfRepeatedId() {
+        final SbomComponentIdPool pool = new SbomComponentIdPool();
+
+        final SbomComponentId first = pool.intern("com.google.guava", "guava", "33.0.0-jre", "jar", null);
+        final SbomComponentId second = pool.intern("com.google.guava", "guava", "33.0.0-jre", "jar", null);
+
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    void testShouldKeepIdsOfDifferentProjectsApart() throws Exception {
+        final SbomComponentIdPool pool = new SbomComponentIdPool();
+
+        final SbomComponentId app = pool.intern("com.example", "lib", "1.0.0", null, ":app");
+        final SbomComponentId lib = pool.intern("com.example", "lib", "1.0.0", null, ":lib");
+
+        assertEquals(app, lib);
+        assertNotEquals(app.getPackageUrl(), lib.getPackageUrl());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void testShouldKeepHashAndPackageUrl() throws Exception {
+        final SbomComponentId id = new SbomComponentId("", "lib", "1.0.0", "jar", ":lib");
+
+        assertEquals(Objects.hash("", "lib", "1.0.0", "jar"), id.hashCode());
+        assertEquals("pkg:maven/unspecified/lib@1.0.0?project_path=%3Alib&type=jar", id.getPackageUrl());
+        assertSame(id.getPackageUrl(), id.getPackageUrl());
+    }
+}
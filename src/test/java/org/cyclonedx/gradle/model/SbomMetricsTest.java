@@ -0,0 +1,90 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class SbomMetricsTest {
+
+    @Test
+    void testShouldReportPhasesCountersAndHitRates() {
+        final SbomMetrics metrics = new SbomMetrics();
+        metrics.record("traverseGraph", 2_000_000);
+        metrics.record("traverseGraph", 3_000_000);
+        metrics.add("hashing.bytes", 1024);
+        metrics.add("pomLookup.hits", 3);
+        metrics.increment("pomLookup.misses");
+
+        final String json = metrics.toJson(":app:cyclonedxDirectBom");
+
+        assertTrue(json.contains("\"task\" : \":app:cyclonedxDirectBom\""), json);
+        assertTrue(json.contains("\"traverseGraph\" : { \"calls\" : 2, \"millis\" : 5 }"), json);
+        assertTrue(json.contains("\"hashing.bytes\" : 1024"), json);
+        assertTrue(json.contains("\"pomLookup\" : 0.7500"), json);
+    }
+
+    @Test
+    void testShouldMergeMetricsOfAnotherStage() {
+        final SbomMetrics graph = new SbomMetrics();
+        graph.record("hashArtifacts", 10);
+        graph.add("graph.nodes", 5);
+        final SbomMetrics render = new SbomMetrics();
+        render.record("hashArtifacts", 10);
+        render.add("graph.nodes", 1);
+
+        render.merge(graph);
+
+        assertEquals(2, render.getCalls("hashArtifacts"));
+        assertEquals(6, render.getCount("graph.nodes"));
+    }
+
+    @Test
+    void testShouldCountConcurrentUpdates() throws Exception {
+        final SbomMetrics metrics = new SbomMetrics();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        try (SbomMetrics.Timer ignored = metrics.time("pomLookup")) {
+                            metrics.increment("pomLookup.misses");
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4000, metrics.getCalls("pomLookup"));
+        assertEquals(4000, metrics.getCount("pomLookup.misses"));
+    }
+}
@@ -19,13 +19,16 @@
 package org.cyclonedx.gradle.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import org.cyclonedx.gradle.model.ConfigurationScope;
+import org.cyclonedx.gradle.model.MetadataEnrichment;
 import org.cyclonedx.gradle.model.SbomComponent;
 import org.cyclonedx.gradle.model.SbomComponentId;
 import org.junit.jupiter.api.Test;
@@ -53,13 +56,77 @@ class DependencyUtilsTest {
         assertEquals(expectedGraph, resultGraph);
     }
 
+    @Test
+    void testShouldMergeScopesOfComponentInBothGraphs() {
+
+        final Map<SbomComponentId, SbomComponent> first = new HashMap<>();
+        final SbomComponent componentA = buildDefaultComponent("A", "B", 0);
+        first.put(componentA.getId(), componentA);
+        final Map<SbomComponentId, SbomComponent> second = new HashMap<>();
+        final SbomComponent componentAInOtherScope = buildDefaultComponent("A", "B", 1);
+        second.put(componentAInOtherScope.getId(), componentAInOtherScope);
+        final Map<SbomComponentId, SbomComponent> third = new HashMap<>();
+        final SbomComponent componentAInSameScope = buildDefaultComponent("A", "B", 0);
+        third.put(componentAInSameScope.getId(), componentAInSameScope);
+
+        final Map<SbomComponentId, SbomComponent> resultGraph =
+                DependencyUtils.mergeGraphs(DependencyUtils.mergeGraphs(first, second), third);
+
+        assertEquals(
+                buildInScopeConfigurations(0, 1),
+                resultGraph.get(componentA.getId()).getInScopeConfigurations());
+    }
+
+    @Test
+    void testShouldKeepMetadataOfHigherTier() {
+
+        final Map<SbomComponentId, SbomComponent> first = new HashMap<>();
+        final SbomComponent skipped = new SbomComponent.Builder(buildDefaultComponent("A", "B", 0))
+                .withMetadataEnrichment(MetadataEnrichment.SKIPPED)
+                .build();
+        first.put(skipped.getId(), skipped);
+        final Map<SbomComponentId, SbomComponent> second = new HashMap<>();
+        final SbomComponent resolved = buildDefaultComponent("A", "C", 1);
+        second.put(resolved.getId(), resolved);
+        final Map<SbomComponentId, SbomComponent> third = new HashMap<>();
+        final SbomComponent embeddedPom = new SbomComponent.Builder(buildDefaultComponent("A", "B", 2))
+                .withMetadataEnrichment(MetadataEnrichment.EMBEDDED_POM)
+                .build();
+        third.put(embeddedPom.getId(), embeddedPom);
+
+        final SbomComponent merged = DependencyUtils.mergeGraphs(DependencyUtils.mergeGraphs(first, second), third)
+                .get(skipped.getId());
+
+        assertFalse(merged.getMetadataEnrichment().isPresent());
+        assertEquals(buildInScopeConfigurations(0, 1, 2), merged.getInScopeConfigurations());
+        assertEquals(2, merged.getDependencyComponents().size());
+
+        final Map<SbomComponentId, SbomComponent> timedOut = new HashMap<>();
+        final SbomComponent incomplete = new SbomComponent.Builder(buildDefaultComponent("A", "D", 1))
+                .withMetadataEnrichment(MetadataEnrichment.TIMED_OUT)
+                .build();
+        timedOut.put(incomplete.getId(), incomplete);
+
+        assertEquals(
+                Optional.of(MetadataEnrichment.EMBEDDED_POM),
+                DependencyUtils.mergeGraphs(third, timedOut).get(skipped.getId()).getMetadataEnrichment());
+        assertEquals(
+                Optional.of(MetadataEnrichment.EMBEDDED_POM),
+                DependencyUtils.mergeGraphs(timedOut, third).get(skipped.getId()).getMetadataEnrichment());
+    }
+
     private SbomComponent buildDefaultComponent(final String componentSuffix, final String dependencySuffix) {
+        return buildDefaultComponent(componentSuffix, dependencySuffix, 0);
+    }
+
+    private SbomComponent buildDefaultComponent(
+            final String componentSuffix, final String dependencySuffix, final int scope) {
         return new SbomComponent.Builder()
                 .withId(new SbomComponentId(
                         "group" + componentSuffix, "component" + componentSuffix, "1.0.0", "jar", null))
                 .withDependencyComponents(buildDependencyComponents(new SbomComponentId(
                         "group" + dependencySuffix, "component" + dependencySuffix, "1.0.0", "jar", null)))
-                .withInScopeConfigurations(buildInScopeConfigurations(new ConfigurationScope("projectA", "configA")))
+                .withInScopeConfigurations(buildInScopeConfigurations(scope))
                 .withLicenses(Collections.EMPTY_LIST)
                 .build();
     }
@@ -70,9 +137,11 @@ class DependencyUtilsTest {
         return componentIds;
     }
 
-    private Set<ConfigurationScope> buildInScopeConfigurations(final ConfigurationScope... configs) {
-        final Set<ConfigurationScope> componentConfigs = new HashSet<>();
-        Collections.addAll(componentConfigs, configs);
+    private BitSet buildInScopeConfigurations(final int... scopes) {
+        final BitSet componentConfigs = new BitSet();
+        for (final int scope : scopes) {
+            componentConfigs.set(scope);
+        }
         return componentConfigs;
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.cyclonedx.gradle.FakeResolution;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.junit.jupiter.api.Test;
+
+class FingerprintUtilsTest {
+
+    private static final String MODULE_CACHE =
+            "/home/user/.gradle/caches/modules-2/files-2.1/com.example/lib/1.0.0/0a1b2c3d4e5f60718293a4b5c6d7e8f901234567/";
+
+    @Test
+    void testShouldNotDependOnIterationOrder() {
+        final FakeResolution.Component a = node("a");
+        final FakeResolution.Component b = node("b");
+        final Map<ComponentIdentifier, File> artifacts = artifacts(MODULE_CACHE, "a", "b");
+
+        assertEquals(
+                FingerprintUtils.fingerprint(node("root", a, b), artifacts, new HashMap<>()),
+                FingerprintUtils.fingerprint(node("root", b, a), artifacts, new HashMap<>()));
+    }
+
+    @Test
+    void testShouldFingerprintEntriesIndependentOfOrder() {
+        assertEquals(
+                FingerprintUtils.fingerprint(new ArrayList<>(Arrays.asList("a|-|b", "b|-|"))),
+                FingerprintUtils.fingerprint(new ArrayList<>(Arrays.asList("b|-|", "a|-|b"))));
+        assertNotEquals(
+                FingerprintUtils.fingerprint(new ArrayList<>(Arrays.asList("a|-|b", "b|-|"))),
+                FingerprintUtils.fingerprint(new ArrayList<>(Arrays.asList("a|-|", "b|-|"))));
+    }
+
+    @Test
+    void testShouldChangeWhenDependencyIsAdded() {
+        final FakeResolution.Component a = node("a");
+        final Map<ComponentIdentifier, File> artifacts = artifacts(MODULE_CACHE, "a", "b");
+
+        assertNotEquals(
+                FingerprintUtils.fingerprint(node("root", a), artifacts, new HashMap<>()),
+                FingerprintUtils.fingerprint(node("root", a, node("b")), artifacts, new HashMap<>()));
+    }
+
+    @Test
+    void testShouldChangeWhenEdgeMoves() {
+        final FakeResolution.Component b = node("b");
+
+        assertNotEquals(
+                FingerprintUtils.fingerprint(node("root", node("a", b)), new HashMap<>(), new HashMap<>()),
+                FingerprintUtils.fingerprint(node("root", node("a"), b), new HashMap<>(), new HashMap<>()));
+    }
+
+    @Test
+    void testShouldNotDependOnTheLocationOfTheModuleCache() {
+        final FakeResolution.Component root = node("root", node("a"));
+
+        assertEquals(
+                FingerprintUtils.fingerprint(root, artifacts(MODULE_CACHE, "a"), new HashMap<>()),
+                FingerprintUtils.fingerprint(
+                        root, artifacts(MODULE_CACHE.replace("/home/user/", "/ci/"), "a"), new HashMap<>()));
+    }
+
+    @Test
+    void testShouldUseModuleCacheChecksumWithoutReadingTheFile() {
+        final File cached = new File(MODULE_CACHE + "lib-1.0.0.jar");
+        final File elsewhere = new File("/home/other/.gradle/caches/modules-2/files-2.1/com.example/lib/1.0.0/"
+                + "0a1b2c3d4e5f60718293a4b5c6d7e8f901234567/lib-1.0.0.jar");
+
+        assertEquals(
+                "sha1:0a1b2c3d4e5f60718293a4b5c6d7e8f901234567/lib-1.0.0.jar",
+                FingerprintUtils.artifactIdentity(cached));
+        assertEquals(FingerprintUtils.artifactIdentity(cached), FingerprintUtils.artifactIdentity(elsewhere));
+    }
+
+    @Test
+    void testShouldHashContentOfFilesOutsideTheModuleCache() throws IOException {
+        final File directory = Files.createTempDirectory("fingerprint").toFile();
+        final File artifact = new File(directory, "lib-1.0.0.jar");
+        Files.write(artifact.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+        final String first = FingerprintUtils.artifactIdentity(artifact);
+
+        Files.write(artifact.toPath(), "second".getBytes(StandardCharsets.UTF_8));
+        final String second = FingerprintUtils.artifactIdentity(artifact);
+
+        assertNotEquals(first, second);
+    }
+
+    private static Map<ComponentIdentifier, File> artifacts(final String directory, final String... names) {
+        final Map<ComponentIdentifier, File> artifacts = new HashMap<>();
+        for (final String name : names) {
+            artifacts.put(node(name).getId(), new File(directory + name + "-1.0.0.jar"));
+        }
+        return artifacts;
+    }
+
+    private static FakeResolution.Component node(final String name, final FakeResolution.Component... dependencies) {
+        return FakeResolution.component("com.example", name, "1.0.0").dependsOn(dependencies);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.maven.model.License;
+import org.cyclonedx.gradle.model.ConfigurationScope;
+import org.cyclonedx.gradle.model.ConfigurationScopes;
+import org.cyclonedx.gradle.model.SbomComponent;
+import org.cyclonedx.gradle.model.SbomComponentId;
+import org.cyclonedx.gradle.model.SbomGraph;
+import org.cyclonedx.gradle.model.SbomMetaData;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.ExternalReference;
+import org.junit.jupiter.api.Test;
+
+class SbomGraphUtilsTest {
+
+    @Test
+    void testShouldRoundTripGraphWithMetadataAndHashes() throws IOException {
+        final SbomComponentId rootId = new SbomComponentId("com.example", "app", "1.0.0", null, ":");
+        final SbomComponentId libId = new SbomComponentId("com.example", "lib", "2.0.0", "jar", null);
+
+        final Component enriched = new Component();
+        enriched.setDescription("A library");
+        final ExternalReference website = new ExternalReference();
+        website.setType(ExternalReference.Type.WEBSITE);
+        website.setUrl("https://example.com");
+        enriched.addExternalReference(website);
+
+        final License license = new License();
+        license.setName("Apache-2.0");
+
+        final Map<String, String> hashes = new LinkedHashMap<>();
+        hashes.put("SHA-256", "abc");
+
+        final SbomComponent lib = new SbomComponent.Builder()
+                .withId(libId)
+                .withArtifactFile(new File("lib-2.0.0.jar"))
+                .withMetaData(SbomMetaData.fromComponent(enriched))
+                .withLicenses(Collections.singletonList(license))
+                .withHashes(hashes)
+                .build();
+        final ConfigurationScopes scopes = new ConfigurationScopes();
+        final BitSet inScope = new BitSet();
+        inScope.set(scopes.intern("app", "runtimeClasspath"));
+        final SbomComponent root = new SbomComponent.Builder()
+                .withId(rootId)
+                .withDependencyComponents(new HashSet<>(Collections.singleton(libId)))
+                .withInScopeConfigurations(inScope)
+                .build();
+        final Map<SbomComponentId, SbomComponent> graph = new HashMap<>();
+        graph.put(rootId, root);
+        graph.put(libId, lib);
+
+        final File file = Files.createTempDirectory("graph").resolve("graph.bin").toFile();
+        SbomGraphUtils.writeGraph(new SbomGraph(graph, root, scopes), file);
+        final SbomGraph read = SbomGraphUtils.readGraph(file);
+
+        assertEquals(rootId, read.getRootComponent().getId());
+        assertEquals(
+                Collections.singleton(libId), read.getRootComponent().getDependencyComponents());
+        assertEquals(
+                Collections.singletonList(new ConfigurationScope("app", "runtimeClasspath")),
+                read.getConfigurationScopes()
+                        .resolve(read.getRootComponent().getInScopeConfigurations()));
+        final SbomComponent readLib = read.getGraph().get(libId);
+        assertEquals(hashes, readLib.getHashes());
+        assertFalse(readLib.getArtifactFile().isPresent());
+        assertEquals("Apache-2.0", readLib.getLicenses().get(0).getName());
+        final SbomMetaData metaData = readLib.getSbomMetaData().get();
+        assertEquals("A library", metaData.getDescription());
+        assertEquals(
+                ExternalReference.Type.WEBSITE,
+                metaData.getExternalReferences().get(0).getType());
+        assertEquals(
+                "https://example.com", metaData.getExternalReferences().get(0).getUrl());
+    }
+}
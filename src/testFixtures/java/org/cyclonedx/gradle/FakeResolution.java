@@ -0,0 +1,271 @@
+/*
+ * This file is part of CycloneDX Gradle Plugin.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * Copyright (c) OWASP Foundation. All Rights Reserved.
+ */
+package org.cyclonedx.gradle;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ComponentSelector;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ComponentSelectionReason;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.artifacts.result.ResolvedVariantResult;
+
+/**
+ * Fakes of Gradle's resolution results for tests and benchmarks, so that graphs can be built without resolving
+ * anything with Gradle. Only the parts of the Gradle API read by the plugin are implemented.
+ */
+public final class FakeResolution {
+
+    private FakeResolution() {}
+
+    /**
+     * Creates a resolved module without dependencies.
+     *
+     * @param group the group of the module
+     * @param name the name of the module
+     * @param version the version of the module
+     * @return the module
+     */
+    public static Component component(final String group, final String name, final String version) {
+        return new Component(group, name, version);
+    }
+
+    /**
+     * Creates a project for code which only passes it on, every method of it fails.
+     *
+     * @return the project
+     */
+    public static Project project() {
+        return (Project) Proxy.newProxyInstance(
+                FakeResolution.class.getClassLoader(), new Class<?>[] {Project.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /** A resolved module, whose dependencies are added with {@link #dependsOn(Component...)}. */
+    public static final class Component implements ResolvedComponentResult {
+
+        private final ModuleId id;
+        private final ModuleVersion moduleVersion;
+        private final Set<DependencyResult> dependencies = new LinkedHashSet<>();
+
+        private Component(final String group, final String name, final String version) {
+            this.id = new ModuleId(group, name, version);
+            this.moduleVersion = new ModuleVersion(group, name, version);
+        }
+
+        /**
+         * Adds dependencies of the module.
+         *
+         * @param selected the modules selected for the dependencies
+         * @return this module
+         */
+        public Component dependsOn(final Component... selected) {
+            for (final Component dependency : selected) {
+                dependencies.add(new Dependency(this, dependency));
+            }
+            return this;
+        }
+
+        @Override
+        public ModuleComponentIdentifier getId() {
+            return id;
+        }
+
+        @Override
+        public Set<? extends DependencyResult> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public Set<? extends ResolvedDependencyResult> getDependents() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public ComponentSelectionReason getSelectionReason() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModuleVersionIdentifier getModuleVersion() {
+            return moduleVersion;
+        }
+
+        @Override
+        public List<ResolvedVariantResult> getVariants() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<DependencyResult> getDependenciesForVariant(final ResolvedVariantResult variant) {
+            return new ArrayList<>(dependencies);
+        }
+
+        @Override
+        public String toString() {
+            return id.getDisplayName();
+        }
+    }
+
+    private static final class Dependency implements ResolvedDependencyResult {
+
+        private final Component from;
+        private final Component selected;
+
+        private Dependency(final Component from, final Component selected) {
+            this.from = from;
+            this.selected = selected;
+        }
+
+        @Override
+        public ResolvedComponentResult getSelected() {
+            return selected;
+        }
+
+        @Override
+        public ResolvedVariantResult getResolvedVariant() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ComponentSelector getRequested() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ResolvedComponentResult getFrom() {
+            return from;
+        }
+
+        @Override
+        public boolean isConstraint() {
+            return false;
+        }
+    }
+
+    private static final class ModuleId implements ModuleComponentIdentifier {
+
+        private final String group;
+        private final String module;
+        private final String version;
+
+        private ModuleId(final String group, final String module, final String version) {
+            this.group = group;
+            this.module = module;
+            this.version = version;
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getModule() {
+            return module;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public ModuleIdentifier getModuleIdentifier() {
+            return new ModuleVersion(group, module, version);
+        }
+
+        @Override
+        public String getDisplayName() {
+            return group + ":" + module + ":" + version;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final ModuleId that = (ModuleId) o;
+            return group.equals(that.group) && module.equals(that.module) && version.equals(that.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(group, module, version);
+        }
+
+        @Override
+        public String toString() {
+            return getDisplayName();
+        }
+    }
+
+    private static final class ModuleVersion implements ModuleVersionIdentifier, ModuleIdentifier {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String group;
+        private final String name;
+        private final String version;
+
+        private ModuleVersion(final String group, final String name, final String version) {
+            this.group = group;
+            this.name = name;
+            this.version = version;
+        }
+
+        @Override
+        public String getGroup() {
+            return group;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+
+        @Override
+        public ModuleIdentifier getModule() {
+            return this;
+        }
+    }
+}